@@ -0,0 +1,81 @@
+package org.kohsuke.github;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing webhook payloads with {@link GitHub#parseEventPayload(java.io.Reader, Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPayloadBenchmark {
+
+    private GitHub gitHub;
+
+    private String json;
+
+    @Param({ "pull_request", "push", "issue_comment" })
+    private String payload;
+
+    private Class<? extends GHEventPayload> type;
+
+    /**
+     * Create default EventPayloadBenchmark instance
+     */
+    public EventPayloadBenchmark() {
+    }
+
+    /**
+     * Parses the payload.
+     *
+     * @return the payload
+     * @throws IOException
+     *             if the payload could not be parsed
+     */
+    @Benchmark
+    public GHEventPayload parse() throws IOException {
+        return gitHub.parseEventPayload(new StringReader(json), type);
+    }
+
+    /**
+     * Loads the recorded payload.
+     *
+     * @throws IOException
+     *             if the payload could not be loaded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        gitHub = GitHub.offline();
+        json = new String(ReplayGitHubConnector.load("GHEventPayloadTest/" + payload + ".json"),
+                StandardCharsets.UTF_8);
+        switch (payload) {
+            case "pull_request" :
+                type = GHEventPayload.PullRequest.class;
+                break;
+            case "push" :
+                type = GHEventPayload.Push.class;
+                break;
+            default :
+                type = GHEventPayload.IssueComment.class;
+                break;
+        }
+    }
+}
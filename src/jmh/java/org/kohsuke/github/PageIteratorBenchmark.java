@@ -0,0 +1,69 @@
+package org.kohsuke.github;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures iterating a listing through {@link GitHubPageIterator}: sending the request for each page, following the
+ * {@code Link} headers and parsing the pages of 30 issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageIteratorBenchmark {
+
+    private static final String ISSUES_PATH = "/repos/hub4j-test-org/github-api/issues";
+
+    private GitHub gitHub;
+
+    @Param({ "1", "10" })
+    private int pages;
+
+    /**
+     * Create default PageIteratorBenchmark instance
+     */
+    public PageIteratorBenchmark() {
+    }
+
+    /**
+     * Iterates all items of the listing.
+     *
+     * @param blackhole
+     *            consumes the items
+     */
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (GHIssue issue : gitHub.createRequest().withUrlPath(ISSUES_PATH).toIterable(GHIssue[].class, null)) {
+            blackhole.consume(issue);
+        }
+    }
+
+    /**
+     * Creates a {@link GitHub} that answers the listing in process.
+     *
+     * @throws IOException
+     *             if the listing could not be loaded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        gitHub = new GitHubBuilder().withEndpoint(ReplayGitHubConnector.API_URL)
+                .withConnector(new ReplayGitHubConnector(pages).reply(ISSUES_PATH, ReplayGitHubConnector.ISSUES))
+                .build();
+    }
+}
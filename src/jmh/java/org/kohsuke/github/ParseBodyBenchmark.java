@@ -0,0 +1,94 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GitHubResponse#parseBody(GitHubConnectorResponse, Class)}, which reads a response body and
+ * deserializes it into the data objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBodyBenchmark {
+
+    private byte[] body;
+
+    @Param({ "false", "true" })
+    private boolean compactModel;
+
+    private Map<String, List<String>> headers;
+
+    @Param({ "repository", "pull_request", "issues" })
+    private String payload;
+
+    private GitHubRequest request;
+
+    private Class<?> type;
+
+    /**
+     * Create default ParseBodyBenchmark instance
+     */
+    public ParseBodyBenchmark() {
+    }
+
+    /**
+     * Parses the body of a response.
+     *
+     * @return the parsed body
+     * @throws IOException
+     *             if the body could not be parsed
+     */
+    @Benchmark
+    public Object parseBody() throws IOException {
+        return GitHubResponse.parseBody(new ReplayGitHubConnector.ReplayResponse(request, headers, body), type);
+    }
+
+    /**
+     * Loads the recorded body.
+     *
+     * @throws IOException
+     *             if the body could not be loaded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        GitHub gitHub = new GitHubBuilder().withEndpoint(ReplayGitHubConnector.API_URL)
+                .withConnector(new ReplayGitHubConnector(1))
+                .withCompactModel(compactModel)
+                .build();
+        switch (payload) {
+            case "repository" :
+                body = ReplayGitHubConnector.load(ReplayGitHubConnector.REPOSITORY);
+                type = GHRepository.class;
+                break;
+            case "pull_request" :
+                body = ReplayGitHubConnector.load(ReplayGitHubConnector.PULL_REQUEST);
+                type = GHPullRequest.class;
+                break;
+            default :
+                body = ReplayGitHubConnector.load(ReplayGitHubConnector.ISSUES);
+                type = GHIssue[].class;
+                break;
+        }
+        headers = ReplayGitHubConnector.headers();
+        request = gitHub.createRequest().withUrlPath("/repos/hub4j-test-org/github-api").build();
+    }
+}
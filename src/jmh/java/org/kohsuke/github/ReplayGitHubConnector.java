@@ -0,0 +1,161 @@
+package org.kohsuke.github;
+
+import org.apache.commons.io.IOUtils;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link GitHubConnector} that answers requests in process with recorded response bodies, so benchmarks measure the
+ * client rather than the network.
+ * <p>
+ * Bodies are read once from the WireMock {@code __files} in the test resources. Listings can be answered with several
+ * pages that repeat the same body and link to each other like GitHub does.
+ * </p>
+ */
+final class ReplayGitHubConnector implements GitHubConnector {
+
+    /**
+     * A response with a recorded body.
+     */
+    static final class ReplayResponse extends GitHubConnectorResponse {
+
+        private final byte[] body;
+
+        ReplayResponse(GitHubConnectorRequest request, Map<String, List<String>> headers, byte[] body) {
+            super(request, 200, headers);
+            this.body = body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+
+    /** The API URL the benchmarks use. No requests leave the process. */
+    static final String API_URL = "https://api.github.com";
+
+    /** A page of 30 issues. */
+    static final String ISSUES = "AppTest/wiremock/testListIssues/__files/4-r_h_g_issues.json";
+
+    /** A pull request. */
+    static final String PULL_REQUEST = "GHPullRequestTest/wiremock/addLabels/__files/8-r_h_g_pulls_427.json";
+
+    /** A repository. */
+    static final String REPOSITORY = "GHPullRequestTest/wiremock/addLabels/__files/3-r_h_github-api.json";
+
+    private static int page(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("page=")) {
+                    return Integer.parseInt(parameter.substring("page=".length()));
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * The headers GitHub sends with a response to an authenticated request.
+     *
+     * @return the headers
+     */
+    static Map<String, List<String>> headers() {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Server", Collections.singletonList("GitHub.com"));
+        headers.put("Date", Collections.singletonList("Mon, 19 Oct 2026 14:00:00 GMT"));
+        headers.put("Content-Type", Collections.singletonList("application/json; charset=utf-8"));
+        headers.put("Cache-Control", Collections.singletonList("private, max-age=60, s-maxage=60"));
+        headers.put("Vary", Collections.singletonList("Accept, Authorization, Cookie, X-GitHub-OTP"));
+        headers.put("ETag", Collections.singletonList("W/\"7fd8fa5cd6ab3ab1f8e0bf3e4a2d5d8c\""));
+        headers.put("X-OAuth-Scopes", Collections.singletonList("repo, read:org, workflow"));
+        headers.put("X-Accepted-OAuth-Scopes", Collections.singletonList("repo"));
+        headers.put("X-GitHub-Media-Type", Collections.singletonList("github.v3; format=json"));
+        headers.put("X-GitHub-Api-Version-Selected", Collections.singletonList("2022-11-28"));
+        headers.put("X-RateLimit-Limit", Collections.singletonList("5000"));
+        headers.put("X-RateLimit-Remaining", Collections.singletonList("4999"));
+        headers.put("X-RateLimit-Reset", Collections.singletonList("1792424400"));
+        headers.put("X-RateLimit-Used", Collections.singletonList("1"));
+        headers.put("X-RateLimit-Resource", Collections.singletonList("core"));
+        headers.put("X-GitHub-Request-Id", Collections.singletonList("C2E4:6D1B:1F4A2B:3E5C7D:65A1B2C3"));
+        return headers;
+    }
+
+    /**
+     * Reads a recorded body from the test resources.
+     *
+     * @param resource
+     *            the path of the body, relative to the test resources of this package
+     * @return the body
+     * @throws IOException
+     *             if the body could not be read
+     */
+    static byte[] load(String resource) throws IOException {
+        try (InputStream in = ReplayGitHubConnector.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new FileNotFoundException(resource);
+            }
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private final Map<String, byte[]> bodies = new HashMap<>();
+
+    private final int pages;
+
+    /**
+     * Creates a connector.
+     *
+     * @param pages
+     *            the number of pages to answer listings with
+     */
+    ReplayGitHubConnector(int pages) {
+        this.pages = pages;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        String path = request.url().getPath();
+        byte[] body = bodies.get(path);
+        if (body == null) {
+            throw new FileNotFoundException(request.url().toString());
+        }
+        Map<String, List<String>> headers = headers();
+        int page = page(request.url().getQuery());
+        if (page < pages) {
+            String next = API_URL + path + "?page=" + (page + 1);
+            String last = API_URL + path + "?page=" + pages;
+            headers.put("Link",
+                    Collections.singletonList("<" + next + ">; rel=\"next\", <" + last + ">; rel=\"last\""));
+        }
+        return new ReplayResponse(request, headers, body);
+    }
+
+    /**
+     * Answers requests for a path with a recorded body.
+     *
+     * @param path
+     *            the path, without query
+     * @param resource
+     *            the path of the body, relative to the test resources of this package
+     * @return this connector
+     * @throws IOException
+     *             if the body could not be read
+     */
+    ReplayGitHubConnector reply(@Nonnull String path, @Nonnull String resource) throws IOException {
+        bodies.put(path, load(resource));
+        return this;
+    }
+}
@@ -0,0 +1,124 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.authorization.AuthorizationProvider;
+import org.kohsuke.github.authorization.ImmutableAuthorizationProvider;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building requests with {@link GitHubRequest.Builder#build()} and preparing them for the connector with
+ * {@link GitHubClient#prepareConnectorRequest(GitHubRequest, AuthorizationProvider)}. Run with {@code -prof gc} to
+ * see the bytes allocated per request in {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark {
+
+    private AuthorizationProvider authorizationProvider;
+
+    private GitHubRequest get;
+
+    private GitHubRequest post;
+
+    /**
+     * Create default RequestBenchmark instance
+     */
+    public RequestBenchmark() {
+    }
+
+    /**
+     * Builds and prepares a listing request, which is what the client does for every request it sends.
+     *
+     * @return the prepared request
+     * @throws IOException
+     *             if the authorization could not be provided
+     */
+    @Benchmark
+    public GitHubConnectorRequest buildAndPrepare() throws IOException {
+        return GitHubClient.prepareConnectorRequest(buildGet(), authorizationProvider);
+    }
+
+    /**
+     * Builds a listing request with query parameters.
+     *
+     * @return the request
+     */
+    @Benchmark
+    public GitHubRequest buildGet() {
+        return GitHubRequest.newBuilder()
+                .withApiUrl(ReplayGitHubConnector.API_URL)
+                .withUrlPath("/repos/hub4j-test-org/github-api/pulls")
+                .with("state", "open")
+                .with("sort", "updated")
+                .with("direction", "desc")
+                .with("per_page", 100)
+                .build();
+    }
+
+    /**
+     * Builds a request with a JSON body.
+     *
+     * @return the request
+     */
+    @Benchmark
+    public GitHubRequest buildPost() {
+        return GitHubRequest.newBuilder()
+                .withApiUrl(ReplayGitHubConnector.API_URL)
+                .method("POST")
+                .withUrlPath("/repos/hub4j-test-org/github-api/issues")
+                .with("title", "Benchmark issue")
+                .with("body", "Created while measuring request construction")
+                .with("labels", new String[]{ "bug", "performance" })
+                .build();
+    }
+
+    /**
+     * Prepares a listing request.
+     *
+     * @return the prepared request
+     * @throws IOException
+     *             if the authorization could not be provided
+     */
+    @Benchmark
+    public GitHubConnectorRequest prepareGet() throws IOException {
+        return GitHubClient.prepareConnectorRequest(get, authorizationProvider);
+    }
+
+    /**
+     * Prepares a request with a JSON body, which collects its arguments. They are serialized when the body is written.
+     *
+     * @return the prepared request
+     * @throws IOException
+     *             if the authorization could not be provided
+     */
+    @Benchmark
+    public GitHubConnectorRequest preparePost() throws IOException {
+        return GitHubClient.prepareConnectorRequest(post, authorizationProvider);
+    }
+
+    /**
+     * Builds the requests to prepare.
+     */
+    @Setup
+    public void setUp() {
+        authorizationProvider = ImmutableAuthorizationProvider.fromOauthToken("ghp_benchmark", "benchmark");
+        get = buildGet();
+        post = buildPost();
+    }
+}
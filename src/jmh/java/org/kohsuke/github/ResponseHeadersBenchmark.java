@@ -0,0 +1,87 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the header handling of {@link GitHubConnectorResponse}: copying the headers into a case-insensitive map when
+ * a response is created, and the lookups the client makes for every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseHeadersBenchmark {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private Map<String, List<String>> headers;
+
+    private GitHubRequest request;
+
+    private GitHubConnectorResponse response;
+
+    /**
+     * Create default ResponseHeadersBenchmark instance
+     */
+    public ResponseHeadersBenchmark() {
+    }
+
+    /**
+     * Creates a response, which copies its headers.
+     *
+     * @return the response
+     */
+    @Benchmark
+    public GitHubConnectorResponse create() {
+        return new ReplayGitHubConnector.ReplayResponse(request, headers, EMPTY);
+    }
+
+    /**
+     * Looks up the headers the client reads from every response: the rate limit, the error detection and the caching
+     * headers.
+     *
+     * @param blackhole
+     *            consumes the values
+     */
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        blackhole.consume(response.parseInt("X-RateLimit-Limit"));
+        blackhole.consume(response.parseInt("X-RateLimit-Remaining"));
+        blackhole.consume(response.parseInt("X-RateLimit-Reset"));
+        blackhole.consume(response.header("x-ratelimit-resource"));
+        blackhole.consume(response.header("X-GitHub-OTP"));
+        blackhole.consume(response.header("Retry-After"));
+        blackhole.consume(response.header("ETag"));
+        blackhole.consume(response.header("Link"));
+    }
+
+    /**
+     * Creates the response to look up headers in.
+     */
+    @Setup
+    public void setUp() {
+        headers = ReplayGitHubConnector.headers();
+        request = GitHubRequest.newBuilder()
+                .withApiUrl(ReplayGitHubConnector.API_URL)
+                .withUrlPath("/repos/hub4j-test-org/github-api")
+                .build();
+        response = create();
+    }
+}
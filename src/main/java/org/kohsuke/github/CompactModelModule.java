@@ -0,0 +1,184 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Deduplicates values while reading responses for a {@link GitHub} that uses the compact model.
+ * <p>
+ * Large listings repeat the same values many times: the logins and URLs of the same users, the names and colors of the
+ * same labels, and the URLs of the same repositories. This module makes repeated values share one instance:
+ * </p>
+ * <ul>
+ * <li>Strings of selected properties, such as logins, names, colors and URLs, are canonicalized through a small
+ * bounded cache shared by all readers.</li>
+ * <li>Users nested in other objects are replaced with a user of the same id and login already known to the root.</li>
+ * <li>Labels nested in other objects are replaced with an equal label of the same id already known to the root.</li>
+ * </ul>
+ * <p>
+ * Objects read at the top level of a response, or as the items of a top level list, are never replaced, so fetching a
+ * user or label always returns what was just read.
+ * </p>
+ *
+ * @see GitHubBuilder#withCompactModel(boolean)
+ */
+final class CompactModelModule extends SimpleModule {
+
+    /**
+     * Replaces nested users and labels with the instance already known to their root, held in bounded caches so that
+     * reading many users or labels does not grow them.
+     */
+    private static final class CanonicalDeserializer extends DelegatingDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Whether the value just read was nested in another object, rather than at the top level of the response or an
+         * item of a top level list.
+         *
+         * @param p
+         *            the parser, positioned at the end of the value
+         * @return true if the value was nested
+         */
+        private static boolean isNested(JsonParser p) {
+            JsonStreamContext parent = p.getParsingContext();
+            if (parent != null && parent.inArray()) {
+                parent = parent.getParent();
+            }
+            return parent != null && !parent.inRoot();
+        }
+
+        CanonicalDeserializer(JsonDeserializer<?> delegatee) {
+            super(delegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Object value = super.deserialize(p, ctxt);
+            if (!isNested(p)) {
+                return value;
+            } else if (value instanceof GHUser) {
+                GHUser user = (GHUser) value;
+                return user.root().canonicalUser(user);
+            } else if (value instanceof GHLabel) {
+                GHLabel label = (GHLabel) value;
+                return label.root().intern(label);
+            }
+            return value;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new CanonicalDeserializer(newDelegatee);
+        }
+    }
+
+    /**
+     * Canonicalizes the strings of selected properties.
+     */
+    private static final class InterningStringDeserializer extends StdScalarDeserializer<String>
+            implements ContextualDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        InterningStringDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            if (property != null && isInterned(property.getName())) {
+                return this;
+            }
+            return StringDeserializer.instance;
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String value = StringDeserializer.instance.deserialize(p, ctxt);
+            return value == null ? null : intern(value);
+        }
+    }
+
+    /** The number of strings held by the cache. A power of two. */
+    private static final int CACHE_SIZE = 4096;
+
+    /** Properties whose values repeat across many objects, in addition to URLs. */
+    private static final Set<String> INTERNED_PROPERTIES = new HashSet<>(Arrays.asList("author_association",
+            "color",
+            "default_branch",
+            "description",
+            "language",
+            "login",
+            "name",
+            "state",
+            "type",
+            "user_view_type",
+            "visibility"));
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A direct mapped cache: a string replaces whatever occupied its slot. Strings are immutable and safely published,
+     * so unsynchronized access can at worst miss a match.
+     */
+    private static final String[] STRINGS = new String[CACHE_SIZE];
+
+    /**
+     * Gets the canonical instance of a string, if the cache holds one.
+     *
+     * @param value
+     *            the string
+     * @return an equal string, possibly the one passed in
+     */
+    private static String intern(String value) {
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        String cached = STRINGS[slot];
+        if (value.equals(cached)) {
+            return cached;
+        }
+        STRINGS[slot] = value;
+        return value;
+    }
+
+    private static boolean isInterned(String property) {
+        return property.equals("url") || property.endsWith("_url") || INTERNED_PROPERTIES.contains(property);
+    }
+
+    /**
+     * Creates the module.
+     */
+    CompactModelModule() {
+        super("CompactModelModule");
+        addDeserializer(String.class, new InterningStringDeserializer());
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                    BeanDescription beanDesc,
+                    JsonDeserializer<?> deserializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (type == GHUser.class || type == GHLabel.class) {
+                    return new CanonicalDeserializer(deserializer);
+                }
+                return deserializer;
+            }
+        });
+    }
+}
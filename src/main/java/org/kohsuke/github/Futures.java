@@ -0,0 +1,73 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for waiting on requests submitted to an executor.
+ */
+final class Futures {
+
+    /**
+     * Waits for every future to complete and returns their results in order.
+     * <p>
+     * If any future fails, the remaining futures are cancelled and its failure is rethrown.
+     * </p>
+     *
+     * @param <T>
+     *            the type of result
+     * @param futures
+     *            the futures to wait for
+     * @return the results, in the same order as {@code futures}
+     * @throws IOException
+     *             if a future failed with an {@link IOException}, or the wait was interrupted
+     */
+    static <T> List<T> awaitAll(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+        } finally {
+            // Stop whatever is still running after a failure
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Waits for a future to complete and returns its result.
+     *
+     * @param <T>
+     *            the type of result
+     * @param future
+     *            the future to wait for
+     * @return the result
+     * @throws IOException
+     *             if the future failed with an {@link IOException}, or the wait was interrupted
+     */
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GHException("Concurrent request failed", e.getCause());
+        }
+    }
+
+    private Futures() {
+    }
+}
@@ -0,0 +1,318 @@
+package org.kohsuke.github;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Answers organization membership, team membership and repository permission checks from memory.
+ * <p>
+ * {@link GHOrganization#hasMember(GHUser)}, {@link GHTeam#hasMember(GHUser)} and
+ * {@link GHRepository#getPermission(String)} send a request for every user checked. This cache instead loads the full
+ * member or collaborator list of an organization, team or repository through paged listings the first time it is
+ * needed, and answers every later check for that organization, team or repository from memory.
+ * </p>
+ * <p>
+ * Once a list is older than the time to live, the next check revalidates it page by page with the {@code ETag} of each
+ * page. Pages that have not changed are answered with {@code 304 Not Modified}, which does not count against the rate
+ * limit, and are kept as they are. Only pages that changed are downloaded again.
+ * </p>
+ * <p>
+ * Logins are compared ignoring case. The cache is thread-safe.
+ * </p>
+ *
+ * @see GHOrganization#listMembers()
+ * @see GHTeam#listMembers()
+ * @see GHRepository#listCollaborators()
+ */
+public class GHAccessCache {
+
+    /**
+     * A collaborator in a repository collaborator listing.
+     */
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" }, justification = "JSON API")
+    private static class Collaborator {
+
+        private String login;
+
+        private Map<String, Boolean> permissions;
+
+        private boolean isSet(String permission) {
+            return Boolean.TRUE.equals(permissions.get(permission));
+        }
+
+        GHPermissionType getPermissionType() {
+            if (permissions == null) {
+                return GHPermissionType.UNKNOWN;
+            } else if (isSet("admin")) {
+                return GHPermissionType.ADMIN;
+            } else if (isSet("maintain") || isSet("push")) {
+                return GHPermissionType.WRITE;
+            } else if (isSet("triage") || isSet("pull")) {
+                return GHPermissionType.READ;
+            }
+            return GHPermissionType.NONE;
+        }
+    }
+
+    /**
+     * A member or collaborator list, kept as the pages it was loaded in.
+     *
+     * @param <V>
+     *            the type of value recorded for each login
+     */
+    private static final class Listing<V> {
+
+        private long loadedAt;
+
+        private List<GitHubRevalidatedPages.Page<Map<String, V>>> pages = Collections.emptyList();
+
+        private Map<String, V> values;
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ROOT);
+    }
+
+    private static <T, V> Map<String, V> toValues(T[] items, Function<T, String> login, Function<T, V> value) {
+        Map<String, V> values = new HashMap<>();
+        for (T item : items) {
+            values.put(normalize(login.apply(item)), value.apply(item));
+        }
+        return values;
+    }
+
+    private final ConcurrentMap<String, Listing<GHUser>> members = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Listing<GHPermissionType>> permissions = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    /**
+     * Creates a cache whose lists are revalidated once they are older than {@code ttl}.
+     *
+     * @param ttl
+     *            how long a loaded list is used without checking it for changes
+     */
+    public GHAccessCache(@Nonnull Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Gets the members of an organization.
+     *
+     * @param organization
+     *            the organization
+     * @return the members
+     * @throws IOException
+     *             if the members could not be listed
+     */
+    public Set<GHUser> getMembers(@Nonnull GHOrganization organization) throws IOException {
+        return new LinkedHashSet<>(organizationMembers(organization).values());
+    }
+
+    /**
+     * Gets the members of a team, including members of its child teams.
+     *
+     * @param team
+     *            the team
+     * @return the members
+     * @throws IOException
+     *             if the members could not be listed
+     */
+    public Set<GHUser> getMembers(@Nonnull GHTeam team) throws IOException {
+        return new LinkedHashSet<>(teamMembers(team).values());
+    }
+
+    /**
+     * Gets the permission a user has in a repository.
+     * <p>
+     * Users who are not collaborators have {@link GHPermissionType#READ} permission in public repositories and
+     * {@link GHPermissionType#NONE} in private ones. Listing collaborators requires push access to the repository.
+     * </p>
+     *
+     * @param repository
+     *            the repository
+     * @param login
+     *            a {@link GHUser#getLogin()}
+     * @return the permission
+     * @throws IOException
+     *             if the collaborators could not be listed
+     */
+    public GHPermissionType getPermission(@Nonnull GHRepository repository, @Nonnull String login)
+            throws IOException {
+        GHPermissionType permission = collaboratorPermissions(repository).get(normalize(login));
+        if (permission != null) {
+            return permission;
+        }
+        return repository.isPrivate() ? GHPermissionType.NONE : GHPermissionType.READ;
+    }
+
+    /**
+     * Checks if a user is a member of an organization.
+     *
+     * @param organization
+     *            the organization
+     * @param login
+     *            a {@link GHUser#getLogin()}
+     * @return true if the user is a member
+     * @throws IOException
+     *             if the members could not be listed
+     */
+    public boolean hasMember(@Nonnull GHOrganization organization, @Nonnull String login) throws IOException {
+        return organizationMembers(organization).containsKey(normalize(login));
+    }
+
+    /**
+     * Checks if a user has at least the given permission in a repository.
+     *
+     * @param repository
+     *            the repository
+     * @param login
+     *            a {@link GHUser#getLogin()}
+     * @param permission
+     *            the permission to check
+     * @return true if the user has at least this permission level
+     * @throws IOException
+     *             if the collaborators could not be listed
+     * @see #getPermission(GHRepository, String)
+     */
+    public boolean hasPermission(@Nonnull GHRepository repository,
+            @Nonnull String login,
+            @Nonnull GHPermissionType permission) throws IOException {
+        return getPermission(repository, login).implies(permission);
+    }
+
+    /**
+     * Discards every loaded list, so the next check for each loads it again without conditional requests.
+     */
+    public void invalidateAll() {
+        members.clear();
+        permissions.clear();
+    }
+
+    /**
+     * Checks if a user is a member of a team, directly or through a child team.
+     *
+     * @param team
+     *            the team
+     * @param login
+     *            a {@link GHUser#getLogin()}
+     * @return true if the user is a member
+     * @throws IOException
+     *             if the members could not be listed
+     */
+    public boolean isMemberOf(@Nonnull GHTeam team, @Nonnull String login) throws IOException {
+        return teamMembers(team).containsKey(normalize(login));
+    }
+
+    /**
+     * Loads the members of an organization and of each of its teams.
+     *
+     * @param organization
+     *            the organization
+     * @return this cache
+     * @throws IOException
+     *             if a list could not be loaded
+     */
+    public GHAccessCache preload(@Nonnull GHOrganization organization) throws IOException {
+        organizationMembers(organization);
+        for (GHTeam team : organization.listTeams()) {
+            teamMembers(team);
+        }
+        return this;
+    }
+
+    /**
+     * Loads the collaborators of a repository and their permissions.
+     *
+     * @param repository
+     *            the repository
+     * @return this cache
+     * @throws IOException
+     *             if the collaborators could not be listed
+     */
+    public GHAccessCache preload(@Nonnull GHRepository repository) throws IOException {
+        collaboratorPermissions(repository);
+        return this;
+    }
+
+    /**
+     * Loads the members of a team.
+     *
+     * @param team
+     *            the team
+     * @return this cache
+     * @throws IOException
+     *             if the members could not be listed
+     */
+    public GHAccessCache preload(@Nonnull GHTeam team) throws IOException {
+        teamMembers(team);
+        return this;
+    }
+
+    private Map<String, GHPermissionType> collaboratorPermissions(GHRepository repository) throws IOException {
+        return get(permissions,
+                repository.root(),
+                repository.getApiTailUrl("collaborators"),
+                Collaborator[].class,
+                collaborator -> collaborator.login,
+                Collaborator::getPermissionType);
+    }
+
+    private <T, V> Map<String, V> get(ConcurrentMap<String, Listing<V>> listings,
+            GitHub root,
+            String urlPath,
+            Class<T[]> type,
+            Function<T, String> login,
+            Function<T, V> value) throws IOException {
+        Listing<V> listing = listings.computeIfAbsent(urlPath, key -> new Listing<>());
+        synchronized (listing) {
+            if (listing.values == null || System.nanoTime() - listing.loadedAt >= ttlNanos) {
+                List<GitHubRevalidatedPages.Page<Map<String, V>>> pages = GitHubRevalidatedPages.load(root,
+                        urlPath,
+                        type,
+                        items -> toValues(items, login, value),
+                        listing.pages);
+                Map<String, V> values = new HashMap<>();
+                for (GitHubRevalidatedPages.Page<Map<String, V>> page : pages) {
+                    values.putAll(page.getContents());
+                }
+                listing.pages = pages;
+                listing.values = Collections.unmodifiableMap(values);
+                listing.loadedAt = System.nanoTime();
+            }
+            return listing.values;
+        }
+    }
+
+    private Map<String, GHUser> organizationMembers(GHOrganization organization) throws IOException {
+        return get(members,
+                organization.root(),
+                "/orgs/" + organization.getLogin() + "/members",
+                GHUser[].class,
+                GHUser::getLogin,
+                Function.identity());
+    }
+
+    private Map<String, GHUser> teamMembers(GHTeam team) throws IOException {
+        return get(members, team.root(), team.api("/members"), GHUser[].class, GHUser::getLogin, Function.identity());
+    }
+}
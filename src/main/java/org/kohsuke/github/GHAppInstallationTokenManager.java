@@ -0,0 +1,344 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.authorization.AuthorizationProvider;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Holds installation tokens for many installations of a GitHub App, and refreshes them before they expire.
+ * <p>
+ * Each installation's token is created on first use. Later requests use the held token without locking, while a new
+ * token is created in the background a little before the current one expires, so no request waits for a refresh. If
+ * a background refresh fails it is retried, and requests keep using the current token until it is close to expiry.
+ * Refreshes that fail because the installation is gone or the app lost access to it are not retried.
+ * </p>
+ * <p>
+ * {@link #getInstallationGitHub(long)} returns a {@link GitHub} for each installation that authenticates with the held
+ * token. These instances are created once per installation, and share the API URL, connector, connection pool and
+ * rate limit handling of the app's {@link GitHub}.
+ * </p>
+ * <p>
+ * Token creation and refreshes run on the executor passed to the constructor. The caller owns the executor and is
+ * responsible for shutting it down; {@link #close()} cancels the scheduled refreshes.
+ * </p>
+ *
+ * @see GHAppInstallation#createToken()
+ * @see org.kohsuke.github.authorization.AppInstallationAuthorizationProvider
+ */
+public class GHAppInstallationTokenManager implements Closeable {
+
+    /**
+     * The token state of a single installation.
+     */
+    private final class Installation implements AuthorizationProvider {
+
+        @CheckForNull
+        private GitHub gitHub;
+
+        private final long id;
+
+        private boolean invalidated;
+
+        @CheckForNull
+        private CompletableFuture<Token> pending;
+
+        @CheckForNull
+        private ScheduledFuture<?> scheduled;
+
+        @CheckForNull
+        private volatile Token token;
+
+        Installation(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getEncodedAuthorization() throws IOException {
+            Token current = token;
+            if (current != null && Instant.now().isBefore(current.expiresAt.minus(EXPIRY_MARGIN))) {
+                return current.authorization;
+            }
+            return await(refresh()).authorization;
+        }
+
+        private synchronized void cancel() {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        private synchronized void completed(CompletableFuture<Token> future,
+                @CheckForNull Token created,
+                @CheckForNull Throwable failure) {
+            if (pending == future) {
+                pending = null;
+            }
+            if (created != null) {
+                token = created;
+                schedule(Duration.between(Instant.now(), created.expiresAt.minus(refreshAhead)));
+            } else if (isRevoked(failure)) {
+                // The app was uninstalled or lost access, so retrying would fail forever
+                LOGGER.log(Level.WARNING, "Stopped refreshing the token of installation " + id, failure);
+            } else {
+                LOGGER.log(Level.WARNING, "Failed to refresh the token of installation " + id, failure);
+                if (token != null) {
+                    schedule(RETRY_DELAY);
+                }
+            }
+        }
+
+        private Token createToken() {
+            try {
+                GHAppInstallationToken created = new GHAppCreateTokenBuilder(app,
+                        String.format("/app/installations/%d/access_tokens", id)).create();
+                return new Token("token " + Objects.requireNonNull(created.getToken()), created.getExpiresAt());
+            } catch (IOException e) {
+                throw new GHException("Failed to create a token for installation " + id, e);
+            }
+        }
+
+        private synchronized GitHub gitHub() throws IOException {
+            if (gitHub == null) {
+                gitHub = app.getClient().createGitHub(this);
+            }
+            return gitHub;
+        }
+
+        private synchronized void invalidate() {
+            invalidated = true;
+            cancel();
+        }
+
+        private synchronized CompletableFuture<Token> refresh() {
+            CompletableFuture<Token> future = pending;
+            if (future == null) {
+                CompletableFuture<Token> created = CompletableFuture.supplyAsync(this::createToken, executor);
+                pending = created;
+                // May complete immediately, clearing pending before this returns
+                created.whenComplete((value, failure) -> completed(created, value, failure));
+                future = created;
+            }
+            return future;
+        }
+
+        private synchronized void schedule(Duration delay) {
+            if (closed || invalidated) {
+                return;
+            }
+            // Never refresh more often than failures are retried, even if tokens are issued close to expiry
+            long millis = Math.max(delay.toMillis(), RETRY_DELAY.toMillis());
+            scheduled = executor.schedule(this::refresh, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * An installation token and when it expires.
+     */
+    private static final class Token {
+
+        private final String authorization;
+
+        private final Instant expiresAt;
+
+        Token(String authorization, Instant expiresAt) {
+            this.authorization = authorization;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Tokens closer than this to expiry are not used, as they may expire before the request reaches GitHub. */
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    private static final Logger LOGGER = Logger.getLogger(GHAppInstallationTokenManager.class.getName());
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    /**
+     * Whether a token could not be created because the installation no longer exists or the app lost access to it.
+     */
+    private static boolean isRevoked(@CheckForNull Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FileNotFoundException) {
+                return true;
+            }
+            if (cause instanceof HttpException) {
+                int code = ((HttpException) cause).getResponseCode();
+                return code == HttpURLConnection.HTTP_UNAUTHORIZED || code == HttpURLConnection.HTTP_NOT_FOUND;
+            }
+        }
+        return false;
+    }
+
+    private static Token await(CompletableFuture<Token> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GHException && cause.getCause() instanceof IOException) {
+                throw (IOException) cause.getCause();
+            }
+            throw new GHException("Failed to create an installation token", cause);
+        }
+    }
+
+    private final GitHub app;
+
+    private volatile boolean closed;
+
+    private final ScheduledExecutorService executor;
+
+    private final ConcurrentMap<Long, Installation> installations = new ConcurrentHashMap<>();
+
+    private volatile Duration refreshAhead = Duration.ofMinutes(5);
+
+    /**
+     * Creates a token manager for a GitHub App.
+     *
+     * @param app
+     *            a {@link GitHub} authenticated as the app, usually with a JWT
+     * @param executor
+     *            the executor to create and refresh tokens on
+     */
+    public GHAppInstallationTokenManager(@Nonnull GitHub app, @Nonnull ScheduledExecutorService executor) {
+        this.app = Objects.requireNonNull(app);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Cancels the scheduled refreshes of every installation. Tokens already held remain usable until they expire.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Installation installation : installations.values()) {
+            installation.cancel();
+        }
+    }
+
+    /**
+     * Gets an {@link AuthorizationProvider} that authenticates with the token of an installation.
+     *
+     * @param installationId
+     *            the installation id
+     * @return the authorization provider
+     */
+    public AuthorizationProvider getAuthorizationProvider(long installationId) {
+        return installation(installationId);
+    }
+
+    /**
+     * Gets the encoded authorization for an installation, creating its first token if needed.
+     *
+     * @param installationId
+     *            the installation id
+     * @return the value for the {@code Authorization} header
+     * @throws IOException
+     *             if no token could be created
+     */
+    public String getEncodedAuthorization(long installationId) throws IOException {
+        return installation(installationId).getEncodedAuthorization();
+    }
+
+    /**
+     * Gets a {@link GitHub} that authenticates as an installation.
+     * <p>
+     * The same instance is returned for every call with the same installation id.
+     * </p>
+     *
+     * @param installationId
+     *            the installation id
+     * @return the GitHub instance
+     * @throws IOException
+     *             if the instance could not be created
+     */
+    public GitHub getInstallationGitHub(long installationId) throws IOException {
+        return installation(installationId).gitHub();
+    }
+
+    /**
+     * Forgets an installation, for example after the app is uninstalled, and cancels its scheduled refresh.
+     * <p>
+     * A refresh already in progress is not rescheduled when it finishes. {@link GitHub} instances and authorization
+     * providers obtained for the installation before it was forgotten are no longer refreshed in the background, and
+     * create a new token only when they are used with an expired one.
+     * </p>
+     *
+     * @param installationId
+     *            the installation id
+     */
+    public void invalidate(long installationId) {
+        Installation installation = installations.remove(installationId);
+        if (installation != null) {
+            installation.invalidate();
+        }
+    }
+
+    /**
+     * Creates tokens for several installations in parallel and waits for them.
+     *
+     * @param installationIds
+     *            the installation ids
+     * @return this token manager
+     * @throws IOException
+     *             if a token could not be created
+     */
+    public GHAppInstallationTokenManager preload(@Nonnull Collection<Long> installationIds) throws IOException {
+        List<CompletableFuture<Token>> futures = new ArrayList<>();
+        for (long installationId : installationIds) {
+            Installation installation = installation(installationId);
+            if (installation.token == null) {
+                futures.add(installation.refresh());
+            }
+        }
+        for (CompletableFuture<Token> future : futures) {
+            await(future);
+        }
+        return this;
+    }
+
+    /**
+     * Sets how long before a token expires its replacement is created. Defaults to 5 minutes.
+     * <p>
+     * Installation tokens are valid for one hour.
+     * </p>
+     *
+     * @param refreshAhead
+     *            the time before expiry to refresh at
+     * @return this token manager
+     */
+    public GHAppInstallationTokenManager refreshAhead(@Nonnull Duration refreshAhead) {
+        if (refreshAhead.compareTo(EXPIRY_MARGIN) < 0) {
+            throw new IllegalArgumentException("refreshAhead must be at least " + EXPIRY_MARGIN);
+        }
+        this.refreshAhead = refreshAhead;
+        return this;
+    }
+
+    private Installation installation(long installationId) {
+        return installations.computeIfAbsent(installationId, Installation::new);
+    }
+}
@@ -1,6 +1,7 @@
 package org.kohsuke.github;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.kohsuke.github.function.InputStreamFunction;
 
 import java.io.IOException;
 
@@ -30,6 +31,7 @@ public class GHAsset extends GHObject {
 
     private String browserDownloadUrl;
     private String contentType;
+    private String digest;
     private long downloadCount;
     private String label;
     private String name;
@@ -54,6 +56,22 @@ public class GHAsset extends GHObject {
         root().createRequest().method("DELETE").withUrlPath(getApiRoute()).send();
     }
 
+    /**
+     * Downloads the contents of this asset.
+     *
+     * @param <T>
+     *            the type of result
+     * @param streamFunction
+     *            The {@link InputStreamFunction} that will process the stream
+     * @return the result of reading the stream
+     * @throws IOException
+     *             the io exception
+     * @see GHAssetTransferManager#download(GHAsset, java.io.File)
+     */
+    public <T> T download(InputStreamFunction<T> streamFunction) throws IOException {
+        return createDownloadRequest().fetchStream(streamFunction);
+    }
+
     /**
      * Gets browser download url.
      *
@@ -72,6 +90,15 @@ public class GHAsset extends GHObject {
         return contentType;
     }
 
+    /**
+     * Gets the digest of the contents of this asset, in the form {@code sha256:<hex>}.
+     *
+     * @return the digest, or {@code null} if GitHub has not computed one for this asset
+     */
+    public String getDigest() {
+        return digest;
+    }
+
     /**
      * Gets download count.
      *
@@ -161,6 +188,15 @@ public class GHAsset extends GHObject {
         return "/repos/" + owner.getOwnerName() + "/" + owner.getName() + "/releases/assets/" + getId();
     }
 
+    /**
+     * Creates a request for the raw contents of this asset.
+     *
+     * @return the requester
+     */
+    Requester createDownloadRequest() {
+        return root().createRequest().withUrlPath(getApiRoute()).setHeader("Accept", "application/octet-stream");
+    }
+
     /**
      * Wrap.
      *
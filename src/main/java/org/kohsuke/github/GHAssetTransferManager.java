@@ -0,0 +1,362 @@
+package org.kohsuke.github;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Transfers release assets concurrently.
+ * <p>
+ * Uploads send each asset in a single request, as the GitHub API cannot resume a partial upload, but several assets are
+ * uploaded at once. Downloads are split into chunks that are fetched in parallel using HTTP {@code Range} requests and
+ * written directly into the target file. Completed chunks are recorded in a {@code .progress} file next to the target,
+ * so when a failed download is started again it resumes after the chunks already written. Once all chunks are written,
+ * the file is verified against the SHA-256 digest GitHub reports for the asset, when there is one.
+ * </p>
+ * <p>
+ * Transfers run on the {@link ExecutorService} passed to the constructor. The caller owns the executor and is
+ * responsible for shutting it down.
+ * </p>
+ *
+ * @see GHRelease#uploadAsset(File, String)
+ * @see GHAsset#download(org.kohsuke.github.function.InputStreamFunction)
+ */
+public class GHAssetTransferManager {
+
+    /**
+     * A byte range of an asset, tracking how much of it has been written.
+     */
+    private static final class Chunk {
+
+        private final long end;
+
+        private long position;
+
+        private final long start;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.position = start;
+        }
+    }
+
+    /**
+     * The state of a single asset download.
+     */
+    private static final class Download {
+
+        private final GHAsset asset;
+
+        private final FileChannel channel;
+
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private final Path progress;
+
+        private final Path target;
+
+        Download(GHAsset asset, Path target, Path progress, FileChannel channel) {
+            this.asset = asset;
+            this.target = target;
+            this.progress = progress;
+            this.channel = channel;
+        }
+
+        synchronized void completed(Chunk chunk) throws IOException {
+            Files.write(progress,
+                    (chunk.start + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /** Suffix of the file that records which chunks of a download have been written. */
+    static final String PROGRESS_SUFFIX = ".progress";
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by the Java platform", e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int n; (n = in.read(buffer)) != -1;) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private long chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private final ExecutorService executor;
+
+    private int maxAttempts = 3;
+
+    /**
+     * Creates a transfer manager that runs transfers on the given executor.
+     *
+     * @param executor
+     *            the executor to run uploads and chunk downloads on
+     */
+    public GHAssetTransferManager(@Nonnull ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Sets the size of the chunks downloads are split into. Defaults to 8 MiB.
+     *
+     * @param chunkSize
+     *            the chunk size in bytes
+     * @return this transfer manager
+     */
+    public GHAssetTransferManager chunkSize(long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than zero");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Downloads an asset to a file.
+     *
+     * @param asset
+     *            the asset to download
+     * @param target
+     *            the file to write the asset to
+     * @throws IOException
+     *             if a chunk still fails after the configured number of attempts, or the contents do not match the
+     *             digest of the asset
+     */
+    public void download(@Nonnull GHAsset asset, @Nonnull File target) throws IOException {
+        List<Download> downloads = new ArrayList<>();
+        try {
+            downloads.add(prepareDownload(asset, target));
+            transfer(downloads);
+        } finally {
+            close(downloads);
+        }
+    }
+
+    /**
+     * Downloads several assets into a directory, naming each file after its asset.
+     * <p>
+     * The chunks of all assets share the executor, so small assets are not held up behind large ones.
+     * </p>
+     *
+     * @param assets
+     *            the assets to download
+     * @param directory
+     *            the directory to write the assets to
+     * @throws IOException
+     *             if any asset could not be downloaded
+     */
+    public void downloadAssets(@Nonnull Collection<GHAsset> assets, @Nonnull File directory) throws IOException {
+        List<Download> downloads = new ArrayList<>();
+        try {
+            for (GHAsset asset : assets) {
+                downloads.add(prepareDownload(asset, new File(directory, asset.getName())));
+            }
+            transfer(downloads);
+        } finally {
+            close(downloads);
+        }
+    }
+
+    /**
+     * Sets how many times each chunk is requested before a download fails. Defaults to 3.
+     * <p>
+     * A chunk that fails part way through is requested again from the last byte written.
+     * </p>
+     *
+     * @param maxAttempts
+     *            the maximum number of attempts per chunk
+     * @return this transfer manager
+     */
+    public GHAssetTransferManager maxAttempts(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than zero");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Uploads several files to a release at once.
+     *
+     * @param release
+     *            the release to upload to
+     * @param files
+     *            the files to upload, each becoming an asset named after the file
+     * @param contentType
+     *            the content type of the files
+     * @return the uploaded assets, in the same order as {@code files}
+     * @throws IOException
+     *             if any upload fails
+     */
+    public List<GHAsset> uploadAssets(@Nonnull GHRelease release,
+            @Nonnull Collection<File> files,
+            @Nonnull String contentType) throws IOException {
+        List<Future<GHAsset>> futures = new ArrayList<>();
+        for (File file : files) {
+            futures.add(executor.submit(() -> release.uploadAsset(file, contentType)));
+        }
+        return Futures.awaitAll(futures);
+    }
+
+    private void close(List<Download> downloads) throws IOException {
+        for (Download download : downloads) {
+            download.channel.close();
+        }
+    }
+
+    private void downloadChunk(Download download, Chunk chunk) throws IOException {
+        IOException failure = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            try {
+                downloadRange(download, chunk);
+                download.completed(chunk);
+                return;
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    private void downloadRange(Download download, Chunk chunk) throws IOException {
+        GitHubRequest request = download.asset.createDownloadRequest()
+                .setHeader("Range", "bytes=" + chunk.position + "-" + (chunk.end - 1))
+                .build();
+        download.asset.root().getClient().sendRequest(request, connectorResponse -> {
+            int status = connectorResponse.statusCode();
+            boolean wholeAsset = chunk.position == 0 && chunk.end == download.asset.getSize();
+            if (status != HttpURLConnection.HTTP_PARTIAL && !(status == HttpURLConnection.HTTP_OK && wholeAsset)) {
+                throw new IOException("Range request for " + download.asset.getName() + " returned status " + status);
+            }
+            try (InputStream in = connectorResponse.bodyStream()) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int n; (n = in.read(buffer)) != -1;) {
+                    if (chunk.position + n > chunk.end) {
+                        throw new IOException("Received more data than requested for " + download.asset.getName());
+                    }
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, n);
+                    while (bytes.hasRemaining()) {
+                        chunk.position += download.channel.write(bytes, chunk.position);
+                    }
+                }
+            }
+            return null;
+        });
+        if (chunk.position != chunk.end) {
+            throw new IOException("Received less data than requested for " + download.asset.getName());
+        }
+    }
+
+    private Download prepareDownload(GHAsset asset, File target) throws IOException {
+        Path path = target.toPath();
+        Path progress = path.resolveSibling(path.getFileName() + PROGRESS_SUFFIX);
+        long size = asset.getSize();
+        String header = asset.getId() + " " + size + " " + chunkSize;
+
+        Set<Long> written = new HashSet<>();
+        if (Files.exists(path) && Files.exists(progress)) {
+            List<String> lines = Files.readAllLines(progress, StandardCharsets.UTF_8);
+            if (!lines.isEmpty() && lines.get(0).equals(header)) {
+                try {
+                    for (String line : lines.subList(1, lines.size())) {
+                        written.add(Long.parseLong(line));
+                    }
+                } catch (NumberFormatException e) {
+                    // A partially written line means the record cannot be trusted
+                    written.clear();
+                }
+            }
+        }
+        if (written.isEmpty()) {
+            Files.write(progress, (header + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (written.isEmpty()) {
+            channel.truncate(0);
+        }
+        Download download = new Download(asset, path, progress, channel);
+        for (long start = 0; start < size; start += chunkSize) {
+            if (!written.contains(start)) {
+                download.chunks.add(new Chunk(start, Math.min(start + chunkSize, size)));
+            }
+        }
+        return download;
+    }
+
+    private void transfer(List<Download> downloads) throws IOException {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Download download : downloads) {
+            for (Chunk chunk : download.chunks) {
+                futures.add(executor.submit(() -> {
+                    downloadChunk(download, chunk);
+                    return null;
+                }));
+            }
+        }
+        Futures.awaitAll(futures);
+
+        for (Download download : downloads) {
+            download.channel.force(false);
+            verify(download);
+            Files.delete(download.progress);
+        }
+    }
+
+    private void verify(Download download) throws IOException {
+        String expected = download.asset.getDigest();
+        if (expected == null || !expected.startsWith("sha256:")) {
+            return;
+        }
+        String actual = sha256(download.target);
+        if (!actual.equalsIgnoreCase(expected.substring("sha256:".length()))) {
+            // Start over next time rather than resuming from corrupt chunks
+            Files.delete(download.progress);
+            throw new IOException("SHA-256 digest of " + download.target + " does not match " + expected);
+        }
+    }
+}
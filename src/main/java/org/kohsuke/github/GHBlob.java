@@ -17,6 +17,27 @@ import java.util.Base64;
  */
 public class GHBlob {
 
+    /**
+     * Creates a blob from contents that are already known.
+     *
+     * @param sha
+     *            the sha
+     * @param url
+     *            the API URL of the blob
+     * @param content
+     *            the contents of the blob
+     * @return the blob
+     */
+    static GHBlob fromContent(String sha, String url, byte[] content) {
+        GHBlob blob = new GHBlob();
+        blob.sha = sha;
+        blob.url = url;
+        blob.size = content.length;
+        blob.encoding = "base64";
+        blob.content = Base64.getEncoder().encodeToString(content);
+        return blob;
+    }
+
     private String content, encoding, url, sha;
 
     private long size;
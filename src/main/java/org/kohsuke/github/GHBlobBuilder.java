@@ -1,7 +1,6 @@
 package org.kohsuke.github;
 
 import java.io.IOException;
-import java.util.Base64;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -30,8 +29,8 @@ public class GHBlobBuilder {
      * @return a GHBlobBuilder
      */
     public GHBlobBuilder binaryContent(byte[] content) {
-        String base64Content = Base64.getEncoder().encodeToString(content);
-        req.with("content", base64Content);
+        // Jackson encodes byte arrays as Base64 while it writes the request body
+        req.with("content", content);
         req.with("encoding", "base64");
         return this;
     }
@@ -0,0 +1,321 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.function.SupplierThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Caches the contents of git blobs by their SHA.
+ * <p>
+ * A blob with a given SHA always has the same contents, so cached blobs never go stale and are shared by every
+ * repository and fork read through the {@link GitHub} instances the cache is configured on. Once a blob is cached,
+ * {@link GHRepository#readBlob(String)}, {@link GHRepository#getBlob(String)}, {@link GHTreeEntry#readAsBlob()} and
+ * {@link GHContent#read()} answer from the cache without a request.
+ * </p>
+ * <p>
+ * Blobs are kept in memory up to a byte budget, evicting the least recently used blobs first. When a directory is set,
+ * blobs are also written to it and read back through memory-mapped files, so they survive eviction and restarts and
+ * can be shared by several processes. Contents are checked against their SHA before they are cached.
+ * </p>
+ * <p>
+ * The cache is thread-safe.
+ * </p>
+ *
+ * @see GitHubBuilder#withBlobCache(GHBlobCache)
+ */
+public class GHBlobCache {
+
+    /**
+     * Reads a buffer without copying it.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    private static final int SHA1_LENGTH = 40;
+
+    private static final int SHA256_LENGTH = 64;
+
+    /**
+     * Whether a SHA can be used as a cache key and file name.
+     */
+    private static boolean isValidSha(String sha) {
+        if (sha.length() != SHA1_LENGTH && sha.length() != SHA256_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < sha.length(); i++) {
+            char c = sha.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the contents of a buffer returned by this cache.
+     *
+     * @param buffer
+     *            the buffer
+     * @return the contents
+     */
+    static byte[] toByteArray(ByteBuffer buffer) {
+        byte[] content = new byte[buffer.remaining()];
+        buffer.duplicate().get(content);
+        return content;
+    }
+
+    /**
+     * Opens a stream over a buffer returned by this cache.
+     *
+     * @param buffer
+     *            the buffer
+     * @return the stream
+     */
+    static InputStream toInputStream(ByteBuffer buffer) {
+        return new BufferInputStream(buffer.duplicate());
+    }
+
+    /**
+     * Computes the git object id of a blob, which is the digest of a header followed by the contents.
+     */
+    private static String blobSha(byte[] content, int length) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(length == SHA1_LENGTH ? "SHA-1" : "SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 and SHA-256 are required by the Java platform", e);
+        }
+        digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+        StringBuilder hex = new StringBuilder(length);
+        for (byte b : digest.digest(content)) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private final Map<String, byte[]> blobs = new LinkedHashMap<>(16, 0.75f, true);
+
+    @CheckForNull
+    private volatile Path directory;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final long maxMemoryBytes;
+
+    private long memoryBytes;
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache that keeps blobs in memory.
+     *
+     * @param maxMemoryBytes
+     *            the most bytes of blob contents to keep in memory
+     */
+    public GHBlobCache(long maxMemoryBytes) {
+        if (maxMemoryBytes < 0) {
+            throw new IllegalArgumentException("maxMemoryBytes must not be negative");
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Also stores blobs in a directory, reading them back through memory-mapped files.
+     *
+     * @param directory
+     *            the directory to store blobs in, which is created if it does not exist
+     * @return this cache
+     * @throws IOException
+     *             if the directory could not be created
+     */
+    public GHBlobCache directory(@Nonnull Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        return this;
+    }
+
+    /**
+     * Gets the contents of a cached blob, without sending a request.
+     *
+     * @param sha
+     *            the SHA of the blob
+     * @return a read-only buffer of the contents, or {@code null} if the blob is not cached
+     * @throws IOException
+     *             if the blob could not be read from the directory
+     */
+    @CheckForNull
+    public ByteBuffer get(@Nonnull String sha) throws IOException {
+        ByteBuffer cached = lookup(sha);
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * The number of lookups that were answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * The number of bytes of blob contents held in memory.
+     *
+     * @return the number of bytes
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * The number of lookups of blobs that were not cached.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Adds a blob to the cache, if its contents match its SHA.
+     *
+     * @param sha
+     *            the SHA of the blob
+     * @param content
+     *            the contents of the blob, which must not be changed afterwards
+     * @return true if the blob was cached
+     * @throws IOException
+     *             if the blob could not be written to the directory
+     */
+    public boolean put(@Nonnull String sha, @Nonnull byte[] content) throws IOException {
+        if (!isValidSha(sha) || !sha.equals(blobSha(content, sha.length()))) {
+            return false;
+        }
+        if (content.length <= maxMemoryBytes) {
+            synchronized (this) {
+                byte[] previous = blobs.put(sha, content);
+                memoryBytes += content.length - (previous != null ? previous.length : 0);
+                Iterator<byte[]> eldest = blobs.values().iterator();
+                while (memoryBytes > maxMemoryBytes) {
+                    memoryBytes -= eldest.next().length;
+                    eldest.remove();
+                }
+            }
+        }
+        Path directory = this.directory;
+        if (directory != null) {
+            Path file = file(directory, sha);
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                // Write to a temporary file first, so that readers never see a partially written blob
+                Path temp = Files.createTempFile(file.getParent(), sha, ".tmp");
+                try {
+                    Files.write(temp, content);
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Path file(Path directory, String sha) {
+        return directory.resolve(sha.substring(0, 2)).resolve(sha.substring(2));
+    }
+
+    @CheckForNull
+    private ByteBuffer lookup(String sha) throws IOException {
+        if (!isValidSha(sha)) {
+            return null;
+        }
+        synchronized (this) {
+            byte[] content = blobs.get(sha);
+            if (content != null) {
+                return ByteBuffer.wrap(content).asReadOnlyBuffer();
+            }
+        }
+        Path directory = this.directory;
+        if (directory == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file(directory, sha), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the contents of a blob from the cache, or loads and caches them.
+     *
+     * @param sha
+     *            the SHA of the blob
+     * @param loader
+     *            loads the contents when the blob is not cached
+     * @return a read-only buffer of the contents
+     * @throws IOException
+     *             if the contents could not be loaded
+     */
+    ByteBuffer get(@Nonnull String sha, @Nonnull SupplierThrows<byte[], IOException> loader) throws IOException {
+        ByteBuffer cached = get(sha);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] content = loader.get();
+        put(sha, content);
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+}
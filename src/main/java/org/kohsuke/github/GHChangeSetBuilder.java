@@ -0,0 +1,313 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Builder pattern for committing changes to many files as a single commit, using the git data API.
+ * <p>
+ * Where {@link GHContentBuilder} creates one commit per file, this builder uploads the content of every added or
+ * modified file as a blob, creates a single tree on top of the tree of the branch head, commits it and fast-forwards
+ * the branch to the new commit. Blobs are uploaded concurrently when an executor is set.
+ * </p>
+ * <p>
+ * If the branch moves while the commit is being created, the fast-forward is rejected and the tree and commit are
+ * created again on top of the new head. The branch is never force updated.
+ * </p>
+ *
+ * @see GHRepository#createChangeSet(String)
+ */
+public class GHChangeSetBuilder {
+
+    /**
+     * A file to add, modify or delete.
+     */
+    private static final class Change {
+
+        /** The content to upload, or {@code null} to delete the file. */
+        @CheckForNull
+        private final byte[] content;
+
+        private final boolean executable;
+
+        /** The SHA of the uploaded blob. */
+        private String sha;
+
+        Change(@CheckForNull byte[] content, boolean executable) {
+            this.content = content;
+            this.executable = executable;
+        }
+    }
+
+    private static final class UserInfo {
+
+        private final Instant date;
+
+        private final String email;
+
+        private final String name;
+
+        UserInfo(String name, String email, Instant date) {
+            this.name = name;
+            this.email = email;
+            this.date = date;
+        }
+    }
+
+    private static boolean isRejectedUpdate(HttpException e) {
+        int code = e.getResponseCode();
+        // A ref update that is not a fast-forward is rejected with 422 Unprocessable Entity
+        return code == 422 || code == HttpURLConnection.HTTP_CONFLICT;
+    }
+
+    @CheckForNull
+    private UserInfo author;
+
+    private final String branch;
+
+    private final Map<String, Change> changes = new LinkedHashMap<>();
+
+    @CheckForNull
+    private UserInfo committer;
+
+    @CheckForNull
+    private ExecutorService executor;
+
+    private int maxAttempts = 3;
+
+    private String message;
+
+    private final GHRepository repo;
+
+    /**
+     * Instantiates a new change set builder.
+     *
+     * @param repo
+     *            the repo
+     * @param branch
+     *            the branch to commit to
+     */
+    GHChangeSetBuilder(GHRepository repo, String branch) {
+        this.repo = repo;
+        this.branch = branch;
+    }
+
+    /**
+     * Adds a file with the given binary content, or replaces the content of an existing file.
+     *
+     * @param path
+     *            the file path
+     * @param content
+     *            the file content
+     * @param executable
+     *            true, if the file should be executable
+     * @return this builder
+     */
+    public GHChangeSetBuilder add(@Nonnull String path, @Nonnull byte[] content, boolean executable) {
+        changes.put(path, new Change(Objects.requireNonNull(content), executable));
+        return this;
+    }
+
+    /**
+     * Adds a file with the given text content, or replaces the content of an existing file.
+     *
+     * @param path
+     *            the file path
+     * @param content
+     *            the file content, encoded as UTF-8
+     * @return this builder
+     */
+    public GHChangeSetBuilder add(@Nonnull String path, @Nonnull String content) {
+        return add(path, content.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    /**
+     * Configures the author of the commit.
+     *
+     * @param name
+     *            the name
+     * @param email
+     *            the email
+     * @param date
+     *            the date
+     * @return this builder
+     */
+    public GHChangeSetBuilder author(String name, String email, Instant date) {
+        this.author = new UserInfo(name, email, date);
+        return this;
+    }
+
+    /**
+     * Creates the commit and fast-forwards the branch to it.
+     *
+     * @return the new commit
+     * @throws IOException
+     *             if a blob, the tree or the commit could not be created, or the branch was still moved by others
+     *             after the configured number of attempts
+     */
+    public GHCommit commit() throws IOException {
+        if (message == null) {
+            throw new IllegalStateException("A commit message is required");
+        }
+        uploadBlobs();
+
+        HttpException failure = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            GHRef ref = repo.getRef("heads/" + branch);
+            String head = ref.getObject().getSha();
+            GHCommit commit = createCommit(head);
+            try {
+                ref.updateTo(commit.getSHA1(), false);
+                return commit;
+            } catch (HttpException e) {
+                if (!isRejectedUpdate(e)) {
+                    throw e;
+                }
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Configures the committer of the commit.
+     *
+     * @param name
+     *            the name
+     * @param email
+     *            the email
+     * @param date
+     *            the date
+     * @return this builder
+     */
+    public GHChangeSetBuilder committer(String name, String email, Instant date) {
+        this.committer = new UserInfo(name, email, date);
+        return this;
+    }
+
+    /**
+     * Deletes a file.
+     *
+     * @param path
+     *            the file path
+     * @return this builder
+     */
+    public GHChangeSetBuilder delete(@Nonnull String path) {
+        changes.put(path, new Change(null, false));
+        return this;
+    }
+
+    /**
+     * Sets the executor blobs are uploaded on. By default they are uploaded one after another on the calling thread.
+     * <p>
+     * The caller owns the executor and is responsible for shutting it down.
+     * </p>
+     *
+     * @param executor
+     *            the executor to upload blobs on
+     * @return this builder
+     */
+    public GHChangeSetBuilder executor(@Nonnull ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Sets how many times the branch is read and the commit created before giving up because the branch keeps moving.
+     * Defaults to 3.
+     *
+     * @param maxAttempts
+     *            the maximum number of attempts
+     * @return this builder
+     */
+    public GHChangeSetBuilder maxAttempts(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than zero");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Configures the commit message.
+     *
+     * @param message
+     *            the message
+     * @return this builder
+     */
+    public GHChangeSetBuilder message(@Nonnull String message) {
+        this.message = message;
+        return this;
+    }
+
+    private GHCommit createCommit(String head) throws IOException {
+        String baseTree = repo.root()
+                .createRequest()
+                .withUrlPath(repo.getApiTailUrl("git/commits/" + head))
+                .fetch(GitCommit.class)
+                .getTreeSHA1();
+
+        GHTreeBuilder tree = repo.createTree().baseTree(baseTree);
+        for (Map.Entry<String, Change> e : changes.entrySet()) {
+            Change change = e.getValue();
+            if (change.content == null) {
+                tree.delete(e.getKey());
+            } else {
+                tree.blobEntry(e.getKey(), change.sha, change.executable);
+            }
+        }
+
+        GHCommitBuilder commit = repo.createCommit().message(message).tree(tree.create().getSha()).parent(head);
+        if (author != null) {
+            commit.author(author.name, author.email, author.date);
+        }
+        if (committer != null) {
+            commit.committer(committer.name, committer.email, committer.date);
+        }
+        return commit.create();
+    }
+
+    private String uploadBlob(byte[] content) throws IOException {
+        return repo.createBlob().binaryContent(content).create().getSha();
+    }
+
+    private void uploadBlobs() throws IOException {
+        List<Change> uploads = new ArrayList<>();
+        for (Change change : changes.values()) {
+            if (change.content != null && change.sha == null) {
+                uploads.add(change);
+            }
+        }
+        if (executor == null) {
+            for (Change change : uploads) {
+                change.sha = uploadBlob(change.content);
+            }
+            return;
+        }
+
+        List<Future<String>> futures = new ArrayList<>(uploads.size());
+        for (Change change : uploads) {
+            futures.add(executor.submit(() -> uploadBlob(change.content)));
+        }
+        List<String> shas = Futures.awaitAll(futures);
+        for (int i = 0; i < uploads.size(); i++) {
+            uploads.get(i).sha = shas.get(i);
+        }
+    }
+}
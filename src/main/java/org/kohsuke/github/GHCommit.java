@@ -509,13 +509,18 @@ public class GHCommit {
 
     /**
      * Resolves the parent commit objects and return them.
+     * <p>
+     * Parents already retrieved through this repository, for example by {@link GHRepository#walkHistory(String, int)},
+     * are resolved without making a request.
      *
      * @return parent commit objects
      * @throws IOException
      *             on error
      */
     public List<GHCommit> getParents() throws IOException {
-        populate();
+        if (parents == null) {
+            populate();
+        }
         List<GHCommit> r = new ArrayList<GHCommit>();
         for (String sha1 : getParentSHA1s())
             r.add(owner.getCommit(sha1));
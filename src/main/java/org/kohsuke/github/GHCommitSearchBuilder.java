@@ -224,6 +224,16 @@ public class GHCommitSearchBuilder extends GHSearchBuilder<GHCommit> {
         return q("parent:" + v);
     }
 
+    /**
+     * Creates a search for every matching commit, beyond the 1,000 results GitHub returns for a single query, by
+     * splitting it into ranges of committer date.
+     *
+     * @return the partitioned search
+     */
+    public GHPartitionedSearch<GHCommit> partitioned() {
+        return partitioned("committer-date", GHCommit::getSHA1);
+    }
+
     /**
      * Search terms.
      *
@@ -5,6 +5,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
@@ -423,6 +424,24 @@ public class GHContent extends GitHubInteractiveObject implements Refreshable {
      *             the io exception
      */
     private byte[] readDecodedContent() throws IOException {
+        GHBlobCache cache = root().getBlobCache();
+        if (cache == null || sha == null || !isFile()) {
+            return decodeContent();
+        }
+        if (content == null) {
+            // Only listed so far, so the content would have to be requested
+            return GHBlobCache.toByteArray(cache.get(sha, this::decodeContent));
+        }
+        ByteBuffer cached = cache.get(sha);
+        if (cached != null) {
+            return GHBlobCache.toByteArray(cached);
+        }
+        byte[] decoded = decodeContent();
+        cache.put(sha, decoded);
+        return decoded;
+    }
+
+    private byte[] decodeContent() throws IOException {
         String encodedContent = getEncodedContent();
         if (encoding.equals("base64")) {
             try {
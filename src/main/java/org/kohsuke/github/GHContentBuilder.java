@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.Date;
 
 // TODO: Auto-generated Javadoc
@@ -188,7 +187,7 @@ public final class GHContentBuilder {
      * @return the gh content builder
      */
     public GHContentBuilder content(byte[] content) {
-        req.with("content", Base64.getEncoder().encodeToString(content));
+        req.with("content", content);
         return this;
     }
 
@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.Date;
 
 /**
@@ -32,7 +31,6 @@ public final class GHContentUpdater {
     }
 
     private final GHContent content;
-    private String encodedContent;
     private final Requester req;
 
     GHContentUpdater(GHContent content) {
@@ -186,8 +184,7 @@ public final class GHContentUpdater {
      * @return this updater
      */
     public GHContentUpdater content(byte[] newContent) {
-        this.encodedContent = Base64.getEncoder().encodeToString(newContent);
-        req.with("content", encodedContent);
+        req.with("content", newContent);
         return this;
     }
 
@@ -0,0 +1,211 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Exports the comments and events of every issue and pull request of a repository.
+ * <p>
+ * Instead of listing the comments and events of each issue separately, which takes at least one request per issue, the
+ * exporter reads the listings that cover the whole repository, a page at a time. Each comment or event is passed to a
+ * {@link Sink} together with the number of the issue or pull request it belongs to, and is not kept afterwards, so
+ * repositories of any size can be exported.
+ * </p>
+ * <p>
+ * Each export returns a cursor that can be passed to the next export to continue where it left off, to pick up new
+ * activity later. Comments are exported in the order they were last updated, so the cursor is the time the last
+ * comment was updated. Comments updated at exactly that time are exported again by the next export, and can be told
+ * apart by their id. When a comment export fails, the {@link ExportException} it throws carries the cursor of the
+ * last comment the sink received, so the next export continues from there.
+ * </p>
+ * <p>
+ * Events are exported newest first, so the newest event is only known to be complete once the export has reached the
+ * events exported before. An event export that fails has to be restarted from the cursor passed to it, which exports
+ * the events the sink already received again.
+ * </p>
+ * <p>
+ * The comments and events are not connected to an issue: {@link GHIssueComment#getParent()} and
+ * {@link GHPullRequestReviewComment#getParent()} return {@code null}, and the issues of events are only partially
+ * populated.
+ * </p>
+ *
+ * @see GHRepository#exportIssueActivity()
+ */
+public class GHIssueActivityExporter {
+
+    /**
+     * Thrown when a comment export fails, carrying the cursor to continue the export from.
+     */
+    public static class ExportException extends IOException {
+
+        @CheckForNull
+        private final Instant cursor;
+
+        /**
+         * Instantiates a new export exception.
+         *
+         * @param cursor
+         *            the cursor to continue the export from
+         * @param cause
+         *            the reason the export failed
+         */
+        ExportException(@CheckForNull Instant cursor, Throwable cause) {
+            super(cause.getMessage(), cause);
+            this.cursor = cursor;
+        }
+
+        /**
+         * Gets the cursor to continue the export from: the time the last comment the sink received was updated.
+         *
+         * @return the cursor, or {@code null} if the export has to start from the beginning
+         */
+        @CheckForNull
+        public Instant getCursor() {
+            return cursor;
+        }
+    }
+
+    /**
+     * Receives exported comments or events.
+     *
+     * @param <T>
+     *            the type of the items
+     */
+    @FunctionalInterface
+    public interface Sink<T> {
+
+        /**
+         * Receives one item.
+         *
+         * @param number
+         *            the number of the issue or pull request the item belongs to
+         * @param item
+         *            the item
+         * @throws IOException
+         *             if the item could not be stored, which stops the export
+         */
+        void accept(int number, T item) throws IOException;
+    }
+
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Gets the issue or pull request number from the API URL of an issue or pull request.
+     */
+    private static int number(String url) {
+        return Integer.parseInt(url.substring(url.lastIndexOf('/') + 1));
+    }
+
+    private final GHRepository repository;
+
+    /**
+     * Instantiates a new exporter.
+     *
+     * @param repository
+     *            the repository to export
+     */
+    GHIssueActivityExporter(GHRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Exports the events of all issues and pull requests, newest first.
+     *
+     * <p>
+     * If the export fails, the next export has to be passed the same {@code after}, as the events that were not read
+     * are older than the ones the sink received.
+     * </p>
+     *
+     * @param after
+     *            the id of the newest event exported before, as returned by the previous export, or 0 to export all
+     *            events
+     * @param sink
+     *            receives the events
+     * @return the id of the newest event, to pass to the next export
+     * @throws IOException
+     *             if the events could not be read or stored
+     */
+    public long exportEvents(long after, @Nonnull Sink<GHIssueEvent> sink) throws IOException {
+        long newest = after;
+        for (GHIssueEvent event : repository.listIssueEvents().withPageSize(PAGE_SIZE)) {
+            if (event.getId() <= after) {
+                // Everything from here on was exported before
+                break;
+            }
+            newest = Math.max(newest, event.getId());
+            GHIssue issue = event.getIssue().wrap(repository);
+            sink.accept(issue.getNumber(), event);
+        }
+        return newest;
+    }
+
+    /**
+     * Exports the comments on all issues and pull requests, in the order they were last updated. Review comments on the
+     * code of pull requests are exported by {@link #exportReviewComments(Instant, Sink)}.
+     *
+     * @param since
+     *            the cursor returned by the previous export, or {@code null} to export all comments
+     * @param sink
+     *            receives the comments
+     * @return the time the last comment was updated, to pass to the next export
+     * @throws ExportException
+     *             if the comments could not be read or stored, with the cursor to continue from
+     */
+    @CheckForNull
+    public Instant exportIssueComments(@CheckForNull Instant since, @Nonnull Sink<GHIssueComment> sink)
+            throws ExportException {
+        Instant cursor = since;
+        try {
+            for (GHIssueComment comment : list("issues/comments", since, GHIssueComment[].class)) {
+                sink.accept(number(comment.getIssueUrl().toString()), comment);
+                cursor = comment.getUpdatedAt();
+            }
+        } catch (IOException | GHException e) {
+            throw new ExportException(cursor, e);
+        }
+        return cursor;
+    }
+
+    /**
+     * Exports the review comments on the code of all pull requests, in the order they were last updated.
+     *
+     * @param since
+     *            the cursor returned by the previous export, or {@code null} to export all review comments
+     * @param sink
+     *            receives the review comments
+     * @return the time the last review comment was updated, to pass to the next export
+     * @throws ExportException
+     *             if the review comments could not be read or stored, with the cursor to continue from
+     */
+    @CheckForNull
+    public Instant exportReviewComments(@CheckForNull Instant since,
+            @Nonnull Sink<GHPullRequestReviewComment> sink) throws ExportException {
+        Instant cursor = since;
+        try {
+            for (GHPullRequestReviewComment comment : list("pulls/comments",
+                    since,
+                    GHPullRequestReviewComment[].class)) {
+                sink.accept(number(comment.getPullRequestUrl().toString()), comment);
+                cursor = comment.getUpdatedAt();
+            }
+        } catch (IOException | GHException e) {
+            throw new ExportException(cursor, e);
+        }
+        return cursor;
+    }
+
+    private <T> PagedIterable<T> list(String tail, @CheckForNull Instant since, Class<T[]> type) {
+        Requester requester = repository.root()
+                .createRequest()
+                .withUrlPath(repository.getApiTailUrl(tail))
+                .with("sort", "updated")
+                .with("direction", "asc");
+        if (since != null) {
+            requester.with("since", GitHubClient.printInstant(since));
+        }
+        return requester.toIterable(type, null).withPageSize(PAGE_SIZE);
+    }
+}
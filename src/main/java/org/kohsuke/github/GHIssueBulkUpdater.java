@@ -0,0 +1,454 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Changes the labels, assignees and milestone of many issues.
+ * <p>
+ * Changes queued for the same issue number are combined, even when they are queued through different {@link GHIssue}
+ * objects. Labels and assignees are added and removed through the endpoints that add and remove them, so labels and
+ * assignees changed by others in the meantime are kept. Changes the {@link GHIssue} already reflects when it was read,
+ * such as adding a label it already has, are not sent, and issues that would not change are not updated at all.
+ * </p>
+ * <p>
+ * Requests are started no more often than {@link #minInterval(Duration)} apart, as GitHub recommends for requests that
+ * change data, so they do not trigger secondary rate limits. Requests that are still rejected for exceeding a rate
+ * limit are handled by the {@link GitHubAbuseLimitHandler} and {@link GitHubRateLimitHandler} as usual. When a request
+ * fails, the remaining changes to that issue are not sent, but the other issues are still updated; the outcome of every
+ * issue is reported in the results.
+ * </p>
+ *
+ * @see GHRepository#bulkUpdateIssues()
+ */
+public class GHIssueBulkUpdater {
+
+    /**
+     * The changes queued for one issue.
+     */
+    private static final class Changes {
+
+        private final Set<String> addedAssignees = new LinkedHashSet<>();
+
+        private final Set<String> addedLabels = new LinkedHashSet<>();
+
+        private final GHIssue issue;
+
+        @CheckForNull
+        private GHMilestone milestone;
+
+        private boolean milestoneSet;
+
+        private final Set<String> removedAssignees = new LinkedHashSet<>();
+
+        private final Set<String> removedLabels = new LinkedHashSet<>();
+
+        Changes(GHIssue issue) {
+            this.issue = issue;
+        }
+    }
+
+    /**
+     * The outcome of updating one issue.
+     */
+    public static final class Result {
+
+        @CheckForNull
+        private final IOException failure;
+
+        private final GHIssue issue;
+
+        @CheckForNull
+        private final List<GHLabel> labels;
+
+        @CheckForNull
+        private final GHIssue updated;
+
+        Result(GHIssue issue,
+                @CheckForNull GHIssue updated,
+                @CheckForNull List<GHLabel> labels,
+                @CheckForNull IOException failure) {
+            this.issue = issue;
+            this.updated = updated;
+            this.labels = labels;
+            this.failure = failure;
+        }
+
+        /**
+         * Gets the reason the issue could not be updated.
+         *
+         * @return the failure, or {@code null} if the update succeeded
+         */
+        @CheckForNull
+        public IOException getFailure() {
+            return failure;
+        }
+
+        /**
+         * Gets the issue as it was passed in.
+         *
+         * @return the issue
+         */
+        public GHIssue getIssue() {
+            return issue;
+        }
+
+        /**
+         * Gets the labels of the issue as returned by the last request that added or removed labels.
+         *
+         * @return the labels, or {@code null} if the update failed or no labels were added or removed
+         */
+        @CheckForNull
+        public List<GHLabel> getLabels() {
+            return labels;
+        }
+
+        /**
+         * Gets the issue as returned by the update.
+         * <p>
+         * Only the requests that change assignees or the milestone return the issue. When only labels were changed the
+         * issue is not read again, so this is {@code null} and the new labels are available from {@link #getLabels()}.
+         * </p>
+         *
+         * @return the updated issue, or {@code null} if the update failed, the issue did not need to change or only its
+         *         labels were changed
+         */
+        @CheckForNull
+        public GHIssue getUpdatedIssue() {
+            return updated;
+        }
+
+        /**
+         * Whether the issue was updated, or did not need to change.
+         *
+         * @return true if the update succeeded
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+    }
+
+    private final Map<Integer, Changes> changes = new LinkedHashMap<>();
+
+    @CheckForNull
+    private ExecutorService executor;
+
+    private int maxConcurrency = 4;
+
+    private long minIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private long nextStart;
+
+    private final GHRepository repository;
+
+    /**
+     * Instantiates a new bulk updater.
+     *
+     * @param repository
+     *            the repository the issues belong to
+     */
+    GHIssueBulkUpdater(GHRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Adds assignees to an issue.
+     *
+     * @param issue
+     *            the issue
+     * @param assignees
+     *            the users to assign
+     * @return this updater
+     */
+    public GHIssueBulkUpdater addAssignees(@Nonnull GHIssue issue, @Nonnull Collection<GHUser> assignees) {
+        Changes changes = changes(issue);
+        for (String login : GHIssue.getLogins(assignees)) {
+            changes.addedAssignees.add(login);
+            changes.removedAssignees.remove(login);
+        }
+        return this;
+    }
+
+    /**
+     * Adds labels to an issue.
+     *
+     * @param issue
+     *            the issue
+     * @param names
+     *            the names of the labels
+     * @return this updater
+     */
+    public GHIssueBulkUpdater addLabels(@Nonnull GHIssue issue, @Nonnull String... names) {
+        Changes changes = changes(issue);
+        for (String name : names) {
+            changes.addedLabels.add(name);
+            changes.removedLabels.remove(name);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the executor updates are sent on. By default they are sent one after another on the calling thread.
+     * <p>
+     * The caller owns the executor and is responsible for shutting it down.
+     * </p>
+     *
+     * @param executor
+     *            the executor to send updates on
+     * @return this updater
+     */
+    public GHIssueBulkUpdater executor(@Nonnull ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Sends the updates.
+     *
+     * @return the outcome for each issue, in the order the issues were first passed to this updater. Each result
+     *         reports the {@link GHIssue} object that was passed first for its issue.
+     * @throws InterruptedIOException
+     *             if the thread was interrupted while waiting for the updates
+     * @throws IOException
+     *             if the updates could not be waited for
+     */
+    public List<Result> execute() throws IOException {
+        List<Changes> pending = new ArrayList<>(changes.values());
+        Map<Integer, Result> results = new LinkedHashMap<>();
+        for (Changes issueChanges : pending) {
+            results.put(issueChanges.issue.getNumber(), null);
+        }
+
+        Queue<Changes> queue = new ConcurrentLinkedQueue<>(pending);
+        Map<Integer, Result> completed = new ConcurrentHashMap<>();
+        if (executor == null) {
+            drain(queue, completed);
+        } else {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(maxConcurrency, pending.size()); i++) {
+                workers.add(executor.submit(() -> {
+                    drain(queue, completed);
+                    return null;
+                }));
+            }
+            Futures.awaitAll(workers);
+        }
+        results.putAll(completed);
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Sets how many updates are sent at once when an executor is set. Defaults to 4.
+     *
+     * @param maxConcurrency
+     *            the maximum number of concurrent updates
+     * @return this updater
+     */
+    public GHIssueBulkUpdater maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets the least time between the start of two updates. Defaults to one second.
+     *
+     * @param minInterval
+     *            the least time between updates, or zero to not pace updates
+     * @return this updater
+     */
+    public GHIssueBulkUpdater minInterval(@Nonnull Duration minInterval) {
+        if (minInterval.isNegative()) {
+            throw new IllegalArgumentException("minInterval must not be negative");
+        }
+        this.minIntervalNanos = minInterval.toNanos();
+        return this;
+    }
+
+    /**
+     * Removes assignees from an issue.
+     *
+     * @param issue
+     *            the issue
+     * @param assignees
+     *            the users to unassign
+     * @return this updater
+     */
+    public GHIssueBulkUpdater removeAssignees(@Nonnull GHIssue issue, @Nonnull Collection<GHUser> assignees) {
+        Changes changes = changes(issue);
+        for (String login : GHIssue.getLogins(assignees)) {
+            changes.removedAssignees.add(login);
+            changes.addedAssignees.remove(login);
+        }
+        return this;
+    }
+
+    /**
+     * Removes labels from an issue. Labels the issue does not have are ignored.
+     *
+     * @param issue
+     *            the issue
+     * @param names
+     *            the names of the labels
+     * @return this updater
+     */
+    public GHIssueBulkUpdater removeLabels(@Nonnull GHIssue issue, @Nonnull String... names) {
+        Changes changes = changes(issue);
+        for (String name : names) {
+            changes.removedLabels.add(name);
+            changes.addedLabels.remove(name);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the milestone of an issue.
+     *
+     * @param issue
+     *            the issue
+     * @param milestone
+     *            the milestone, or {@code null} to remove the milestone
+     * @return this updater
+     */
+    public GHIssueBulkUpdater setMilestone(@Nonnull GHIssue issue, @CheckForNull GHMilestone milestone) {
+        Changes changes = changes(issue);
+        changes.milestone = milestone;
+        changes.milestoneSet = true;
+        return this;
+    }
+
+    private Changes changes(GHIssue issue) {
+        Objects.requireNonNull(issue);
+        return changes.computeIfAbsent(issue.getNumber(), number -> new Changes(issue));
+    }
+
+    private void drain(Queue<Changes> queue, Map<Integer, Result> completed) throws InterruptedIOException {
+        for (Changes issueChanges; (issueChanges = queue.poll()) != null;) {
+            completed.put(issueChanges.issue.getNumber(), update(issueChanges));
+        }
+    }
+
+    private void pace() throws InterruptedIOException {
+        long delay;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = nextStart == 0 ? now : Math.max(now, nextStart);
+            nextStart = start + minIntervalNanos;
+            delay = start - now;
+        }
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+            }
+        }
+    }
+
+    private Result update(Changes changes) throws InterruptedIOException {
+        GHIssue issue = changes.issue;
+        Set<String> labels = new HashSet<>(GHLabel.toNames(issue.getLabels()));
+        List<String> addedLabels = new ArrayList<>(changes.addedLabels);
+        addedLabels.removeAll(labels);
+        List<String> removedLabels = new ArrayList<>(changes.removedLabels);
+        removedLabels.retainAll(labels);
+        Set<String> assignees = new HashSet<>(GHIssue.getLogins(issue.getAssignees()));
+        List<String> addedAssignees = new ArrayList<>(changes.addedAssignees);
+        addedAssignees.removeAll(assignees);
+        List<String> removedAssignees = new ArrayList<>(changes.removedAssignees);
+        removedAssignees.retainAll(assignees);
+        boolean milestoneChanged = false;
+        Integer milestone = null;
+        if (changes.milestoneSet) {
+            GHMilestone current = issue.getMilestone();
+            milestone = changes.milestone != null ? changes.milestone.getNumber() : null;
+            milestoneChanged = !Objects.equals(milestone, current != null ? current.getNumber() : null);
+        }
+        if (addedLabels.isEmpty() && removedLabels.isEmpty() && addedAssignees.isEmpty() && removedAssignees.isEmpty()
+                && !milestoneChanged) {
+            return new Result(issue, null, null, null);
+        }
+
+        GitHub root = repository.root();
+        String route = issue.getIssuesApiRoute();
+        try {
+            // Label requests return only the labels, so they are sent first and any later request returns the issue
+            GHIssue updated = null;
+            GHLabel[] updatedLabels = null;
+            if (!addedLabels.isEmpty()) {
+                pace();
+                updatedLabels = root.createRequest()
+                        .method("POST")
+                        .with("labels", addedLabels)
+                        .withUrlPath(route + "/labels")
+                        .fetch(GHLabel[].class);
+            }
+            for (String name : removedLabels) {
+                pace();
+                try {
+                    updatedLabels = root.createRequest()
+                            .method("DELETE")
+                            .withUrlPath(route + "/labels", name)
+                            .fetch(GHLabel[].class);
+                } catch (GHFileNotFoundException e) {
+                    // already removed by someone else
+                }
+            }
+            if (!addedAssignees.isEmpty()) {
+                pace();
+                updated = root.createRequest()
+                        .method("POST")
+                        .with("assignees", addedAssignees)
+                        .withUrlPath(route + "/assignees")
+                        .fetch(GHIssue.class);
+            }
+            if (!removedAssignees.isEmpty()) {
+                pace();
+                updated = root.createRequest()
+                        .method("DELETE")
+                        .with("assignees", removedAssignees)
+                        .inBody()
+                        .withUrlPath(route + "/assignees")
+                        .fetch(GHIssue.class);
+            }
+            if (milestoneChanged) {
+                pace();
+                updated = root.createRequest()
+                        .method("PATCH")
+                        .withNullable("milestone", milestone)
+                        .withUrlPath(route)
+                        .fetch(GHIssue.class);
+            }
+            return new Result(issue,
+                    updated != null ? updated.wrap(repository) : null,
+                    updatedLabels != null ? Arrays.asList(updatedLabels) : null,
+                    null);
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            return new Result(issue, null, null, e);
+        }
+    }
+}
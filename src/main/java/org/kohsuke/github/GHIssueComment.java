@@ -69,6 +69,11 @@ public class GHIssueComment extends GHObject implements Reactable {
      */
     protected String htmlUrl;
 
+    /**
+     * The API URL of the issue the comment belongs to.
+     */
+    private String issueUrl;
+
     /**
      * The user who created the comment. Note: not fully populated, use getUser() for full details.
      */
@@ -173,6 +178,15 @@ public class GHIssueComment extends GHObject implements Reactable {
         return GitHubClient.parseURL(htmlUrl);
     }
 
+    /**
+     * Gets the API URL of the issue or pull request the comment belongs to.
+     *
+     * @return the issue url
+     */
+    public URL getIssueUrl() {
+        return GitHubClient.parseURL(issueUrl);
+    }
+
     /**
      * Gets the issue to which this comment is associated.
      *
@@ -129,6 +129,16 @@ public class GHIssueSearchBuilder extends GHSearchBuilder<GHIssue> {
         return this;
     }
 
+    /**
+     * Creates a search for every matching issue, beyond the 1,000 results GitHub returns for a single query, by
+     * splitting it into ranges of creation date.
+     *
+     * @return the partitioned search
+     */
+    public GHPartitionedSearch<GHIssue> partitioned() {
+        return partitioned("created", GHObject::getId);
+    }
+
     /**
      * Search terms.
      *
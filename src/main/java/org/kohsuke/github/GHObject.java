@@ -1,6 +1,7 @@
 package org.kohsuke.github;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.infradna.tool.bridge_method_injector.WithBridgeMethods;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
@@ -24,6 +25,9 @@ import javax.annotation.CheckForNull;
 @SuppressFBWarnings(value = { "UWF_UNWRITTEN_PUBLIC_OR_PROTECTED_FIELD", "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" },
         justification = "JSON API")
 public abstract class GHObject extends GitHubInteractiveObject {
+    /** Marks a compact timestamp that was not present in the response. */
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
     private static final ToStringStyle TOSTRING_STYLE = new ToStringStyle() {
         {
             this.setUseShortClassName(true);
@@ -45,11 +49,41 @@ public abstract class GHObject extends GitHubInteractiveObject {
         }
     };
 
+    private static String printTimestamp(@CheckForNull String timestamp, long epochMilli) {
+        if (timestamp != null || epochMilli == NO_TIMESTAMP) {
+            return timestamp;
+        }
+        return GitHubClient.printInstant(Instant.ofEpochMilli(epochMilli));
+    }
+
+    private static long toEpochMilli(@CheckForNull String timestamp) {
+        return timestamp == null ? NO_TIMESTAMP : GitHubClient.parseInstant(timestamp).toEpochMilli();
+    }
+
+    private static Instant toInstant(@CheckForNull String timestamp, long epochMilli) {
+        if (timestamp != null || epochMilli == NO_TIMESTAMP) {
+            return GitHubClient.parseInstant(timestamp);
+        }
+        return Instant.ofEpochMilli(epochMilli);
+    }
+
     private String createdAt;
 
+    /** {@link #createdAt} parsed once, in the compact form. */
+    private transient long createdAtEpochMilli = NO_TIMESTAMP;
+
     private long id;
     private String nodeId;
+
+    /** {@link #url} parsed on first use, in the compact form. */
+    @CheckForNull
+    private transient volatile URL parsedUrl;
+
     private String updatedAt;
+
+    /** {@link #updatedAt} parsed once, in the compact form. */
+    private transient long updatedAtEpochMilli = NO_TIMESTAMP;
+
     private String url;
 
     /**
@@ -72,7 +106,7 @@ public abstract class GHObject extends GitHubInteractiveObject {
      */
     @WithBridgeMethods(value = Date.class, adapterMethod = "instantToDate")
     public Instant getCreatedAt() throws IOException {
-        return GitHubClient.parseInstant(createdAt);
+        return toInstant(createdAt, createdAtEpochMilli);
     }
 
     /**
@@ -121,7 +155,7 @@ public abstract class GHObject extends GitHubInteractiveObject {
      */
     @WithBridgeMethods(value = Date.class, adapterMethod = "instantToDate")
     public Instant getUpdatedAt() throws IOException {
-        return GitHubClient.parseInstant(updatedAt);
+        return toInstant(updatedAt, updatedAtEpochMilli);
     }
 
     /**
@@ -130,7 +164,15 @@ public abstract class GHObject extends GitHubInteractiveObject {
      * @return API URL of this object.
      */
     public URL getUrl() {
-        return GitHubClient.parseURL(url);
+        if (!isCompactModel()) {
+            return GitHubClient.parseURL(url);
+        }
+        URL parsed = parsedUrl;
+        if (parsed == null) {
+            parsed = GitHubClient.parseURL(url);
+            parsedUrl = parsed;
+        }
+        return parsed;
     }
 
     /**
@@ -149,15 +191,45 @@ public abstract class GHObject extends GitHubInteractiveObject {
         }.toString();
     }
 
+    @JsonProperty("created_at")
+    private String getCreatedAtTimestamp() {
+        return printTimestamp(createdAt, createdAtEpochMilli);
+    }
+
+    @JsonProperty("updated_at")
+    private String getUpdatedAtTimestamp() {
+        return printTimestamp(updatedAt, updatedAtEpochMilli);
+    }
+
+    @JsonProperty("created_at")
+    private void setCreatedAtTimestamp(@CheckForNull String timestamp) {
+        if (isCompactModel()) {
+            createdAt = null;
+            createdAtEpochMilli = toEpochMilli(timestamp);
+        } else {
+            createdAt = timestamp;
+        }
+    }
+
+    @JsonProperty("updated_at")
+    private void setUpdatedAtTimestamp(@CheckForNull String timestamp) {
+        if (isCompactModel()) {
+            updatedAt = null;
+            updatedAtEpochMilli = toEpochMilli(timestamp);
+        } else {
+            updatedAt = timestamp;
+        }
+    }
+
     /**
-     * Called by Jackson.
+     * Called by Jackson. In the compact form the headers are not kept.
      *
      * @param connectorResponse
      *            the {@link GitHubConnectorResponse} to get headers from.
      */
     @JacksonInject
     protected void setResponseHeaderFields(@CheckForNull GitHubConnectorResponse connectorResponse) {
-        if (connectorResponse != null) {
+        if (connectorResponse != null && !isCompactModel()) {
             responseHeaderFields = connectorResponse.allHeaders();
         }
     }
@@ -0,0 +1,229 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A search that is split into date ranges so that all of its results can be retrieved.
+ * <p>
+ * GitHub returns at most the first 1,000 results of any search, whatever {@link PagedSearchIterable#getTotalCount()}
+ * reports. A partitioned search counts the results in its date range and halves any range holding more than that,
+ * until every range can be listed completely. The ranges are then listed concurrently and the results merged, with
+ * duplicates removed. Duplicates can occur when partitioning on a date that changes while the search runs, such as
+ * {@code updated}.
+ * </p>
+ * <p>
+ * All requests count against the {@link RateLimitTarget#SEARCH} rate limit, and are paced by the rate limit checker
+ * and handler configured on the {@link GitHubBuilder}.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the search results
+ * @see GHIssueSearchBuilder#partitioned()
+ * @see GHPullRequestSearchBuilder#partitioned()
+ * @see GHRepositorySearchBuilder#partitioned()
+ * @see GHCommitSearchBuilder#partitioned()
+ */
+public class GHPartitionedSearch<T> {
+
+    /**
+     * An inclusive range of seconds.
+     */
+    private static final class Range {
+
+        private final Instant from;
+
+        private final Instant to;
+
+        Range(Instant from, Instant to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /** Searches can return no results created before GitHub launched. */
+    private static final Instant DEFAULT_FROM = Instant.parse("2008-01-01T00:00:00Z");
+
+    private static final Logger LOGGER = Logger.getLogger(GHPartitionedSearch.class.getName());
+
+    /** The most results GitHub returns for a single search query. */
+    private static final int MAX_RESULTS = 1000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private String dateQualifier;
+
+    private Instant from = DEFAULT_FROM;
+
+    private final Function<T, Object> identity;
+
+    private final String query;
+
+    private final Class<? extends SearchResult<T>> receiverType;
+
+    private final GitHubRequest request;
+
+    private final GitHub root;
+
+    @CheckForNull
+    private Instant to;
+
+    /**
+     * Instantiates a new partitioned search.
+     *
+     * @param root
+     *            the root
+     * @param request
+     *            the search request, whose {@code q} parameter is replaced for each range
+     * @param query
+     *            the search terms
+     * @param receiverType
+     *            the search result type
+     * @param dateQualifier
+     *            the qualifier to partition on
+     * @param identity
+     *            extracts the value that identifies duplicate results
+     */
+    GHPartitionedSearch(GitHub root,
+            GitHubRequest request,
+            String query,
+            Class<? extends SearchResult<T>> receiverType,
+            String dateQualifier,
+            Function<T, Object> identity) {
+        this.root = root;
+        this.request = request;
+        this.query = query;
+        this.receiverType = receiverType;
+        this.dateQualifier = dateQualifier;
+        this.identity = identity;
+    }
+
+    /**
+     * Limits the search to results whose partitioning date falls within a range.
+     * <p>
+     * By default the range runs from 2008 until the time {@link #list(ExecutorService)} is called. Dates are compared
+     * to the second.
+     * </p>
+     *
+     * @param from
+     *            the start of the range, inclusive
+     * @param to
+     *            the end of the range, inclusive
+     * @return this partitioned search
+     */
+    public GHPartitionedSearch<T> between(@Nonnull Instant from, @Nonnull Instant to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        this.from = from.truncatedTo(ChronoUnit.SECONDS);
+        this.to = to.truncatedTo(ChronoUnit.SECONDS);
+        return this;
+    }
+
+    /**
+     * Lists every result of the search.
+     * <p>
+     * The result counts of ranges at the same depth, and then the results of each final range, are requested in
+     * parallel on {@code executor}. A range that cannot be split further, because it is a single second, is listed as
+     * far as GitHub allows and a warning is logged.
+     * </p>
+     *
+     * @param executor
+     *            the executor to send requests on
+     * @return the results, ordered by range and then in the order GitHub returned them
+     * @throws IOException
+     *             if any request fails
+     */
+    public List<T> list(@Nonnull ExecutorService executor) throws IOException {
+        Instant end = to != null ? to : Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Range> ranges = partition(new Range(from, end), executor);
+
+        List<Future<List<T>>> futures = new ArrayList<>();
+        for (Range range : ranges) {
+            futures.add(executor.submit(() -> search(range).withPageSize(PAGE_SIZE).toList()));
+        }
+
+        Map<Object, T> results = new LinkedHashMap<>();
+        for (List<T> items : Futures.awaitAll(futures)) {
+            for (T item : items) {
+                results.putIfAbsent(identity.apply(item), item);
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Sets the date qualifier to partition on, such as {@code created} or {@code updated}.
+     *
+     * @param dateQualifier
+     *            a search qualifier that accepts a date range
+     * @return this partitioned search
+     */
+    public GHPartitionedSearch<T> partitionBy(@Nonnull String dateQualifier) {
+        this.dateQualifier = Objects.requireNonNull(dateQualifier);
+        return this;
+    }
+
+    private List<Range> partition(Range whole, ExecutorService executor) throws IOException {
+        List<Range> partitions = new ArrayList<>();
+        List<Range> level = new ArrayList<>();
+        level.add(whole);
+        while (!level.isEmpty()) {
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (Range range : level) {
+                counts.add(executor.submit(() -> search(range).withPageSize(1).getTotalCount()));
+            }
+            List<Integer> totals = Futures.awaitAll(counts);
+
+            List<Range> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                Range range = level.get(i);
+                int total = totals.get(i);
+                if (total <= MAX_RESULTS) {
+                    if (total > 0) {
+                        partitions.add(range);
+                    }
+                } else if (range.from.equals(range.to)) {
+                    LOGGER.warning(String.format("%d results for %s, only the first %d can be listed",
+                            total,
+                            qualify(range),
+                            MAX_RESULTS));
+                    partitions.add(range);
+                } else {
+                    long seconds = Duration.between(range.from, range.to).getSeconds();
+                    Instant middle = range.from.plusSeconds(seconds / 2);
+                    next.add(new Range(range.from, middle));
+                    next.add(new Range(middle.plusSeconds(1), range.to));
+                }
+            }
+            level = next;
+        }
+        partitions.sort(Comparator.comparing(range -> range.from));
+        return partitions;
+    }
+
+    private String qualify(Range range) {
+        return query + " " + dateQualifier + ":" + DateTimeFormatter.ISO_INSTANT.format(range.from) + ".."
+                + DateTimeFormatter.ISO_INSTANT.format(range.to);
+    }
+
+    private PagedSearchIterable<T> search(Range range) {
+        return new PagedSearchIterable<>(root, request.toBuilder().set("q", qualify(range)).build(), receiverType);
+    }
+}
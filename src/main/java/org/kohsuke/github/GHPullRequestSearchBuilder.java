@@ -378,6 +378,17 @@ public class GHPullRequestSearchBuilder extends GHSearchBuilder<GHPullRequest> {
         return this;
     }
 
+    /**
+     * Creates a search for every matching pull request, beyond the 1,000 results GitHub returns for a single query, by
+     * splitting it into ranges of creation date.
+     *
+     * @return the partitioned search
+     */
+    public GHPartitionedSearch<GHPullRequest> partitioned() {
+        this.q("is:pr");
+        return partitioned("created", GHObject::getId);
+    }
+
     @Override
     public GHPullRequestSearchBuilder q(String term) {
         super.q(term);
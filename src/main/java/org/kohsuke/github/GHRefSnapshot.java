@@ -0,0 +1,316 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * An immutable snapshot of the refs of a repository, mapping each ref name to the SHA it points to.
+ * <p>
+ * Ref names and SHAs are kept in two arrays sorted by ref name rather than in a map, so a snapshot of a repository with
+ * many branches and tags stays small. Each page of the ref listing is remembered with its {@code ETag}, so
+ * {@link #refresh()} revalidates the listing with conditional requests. Pages that have not changed are answered with
+ * {@code 304 Not Modified}, which does not count against the rate limit, and only changed pages are downloaded again.
+ * </p>
+ * <p>
+ * Polling for pushes then amounts to refreshing the snapshot and calling {@link #diff(GHRefSnapshot)} against the
+ * previous one:
+ * </p>
+ *
+ * <pre>
+ * GHRefSnapshot refreshed = snapshot.refresh();
+ * if (refreshed != snapshot) {
+ *     for (GHRefSnapshot.RefChange change : refreshed.diff(snapshot)) {
+ *         ...
+ *     }
+ *     snapshot = refreshed;
+ * }
+ * </pre>
+ *
+ * @see GHRepository#getRefSnapshot()
+ * @see GHRepository#listRefs()
+ */
+public final class GHRefSnapshot {
+
+    /**
+     * A ref that was created, moved or deleted between two snapshots.
+     */
+    public static final class RefChange {
+
+        /**
+         * The kind of change.
+         */
+        public enum Type {
+            /** The ref did not exist in the previous snapshot. */
+            CREATED,
+            /** The ref no longer exists. */
+            DELETED,
+            /** The ref points to a different SHA. */
+            UPDATED
+        }
+
+        @CheckForNull
+        private final String previousSha;
+
+        private final String ref;
+
+        @CheckForNull
+        private final String sha;
+
+        private final Type type;
+
+        RefChange(Type type, String ref, @CheckForNull String previousSha, @CheckForNull String sha) {
+            this.type = type;
+            this.ref = ref;
+            this.previousSha = previousSha;
+            this.sha = sha;
+        }
+
+        /**
+         * The SHA the ref pointed to in the previous snapshot.
+         *
+         * @return the previous SHA, or {@code null} if the ref was created
+         */
+        @CheckForNull
+        public String getPreviousSha() {
+            return previousSha;
+        }
+
+        /**
+         * The name of the ref, such as "refs/heads/main".
+         *
+         * @return the ref name
+         */
+        public String getRef() {
+            return ref;
+        }
+
+        /**
+         * The SHA the ref points to now.
+         *
+         * @return the SHA, or {@code null} if the ref was deleted
+         */
+        @CheckForNull
+        public String getSha() {
+            return sha;
+        }
+
+        /**
+         * The kind of change.
+         *
+         * @return the type
+         */
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + ref + " " + previousSha + " -> " + sha;
+        }
+    }
+
+    /**
+     * The refs of one page of the ref listing.
+     */
+    private static final class Refs {
+
+        private final String[] names;
+
+        private final String[] shas;
+
+        Refs(GHRef[] refs) {
+            names = new String[refs.length];
+            shas = new String[refs.length];
+            for (int i = 0; i < refs.length; i++) {
+                names[i] = refs[i].getRef();
+                shas[i] = refs[i].getObject().getSha();
+            }
+        }
+    }
+
+    /**
+     * Reads the refs of a repository.
+     *
+     * @param repository
+     *            the repository
+     * @return the snapshot
+     * @throws IOException
+     *             the io exception
+     */
+    static GHRefSnapshot read(GHRepository repository) throws IOException {
+        return new GHRefSnapshot(repository, load(repository, Collections.emptyList()));
+    }
+
+    private static List<GitHubRevalidatedPages.Page<Refs>> load(GHRepository repository,
+            List<GitHubRevalidatedPages.Page<Refs>> previous) throws IOException {
+        return GitHubRevalidatedPages
+                .load(repository.root(), repository.getApiTailUrl("git/refs"), GHRef[].class, Refs::new, previous);
+    }
+
+    private final String[] names;
+
+    private final List<GitHubRevalidatedPages.Page<Refs>> pages;
+
+    private final GHRepository repository;
+
+    private final String[] shas;
+
+    private GHRefSnapshot(GHRepository repository, List<GitHubRevalidatedPages.Page<Refs>> pages) {
+        this.repository = repository;
+        this.pages = pages;
+
+        int size = 0;
+        for (GitHubRevalidatedPages.Page<Refs> page : pages) {
+            size += page.getContents().names.length;
+        }
+        String[] allNames = new String[size];
+        String[] allShas = new String[size];
+        int offset = 0;
+        boolean sorted = true;
+        for (GitHubRevalidatedPages.Page<Refs> page : pages) {
+            Refs refs = page.getContents();
+            System.arraycopy(refs.names, 0, allNames, offset, refs.names.length);
+            System.arraycopy(refs.shas, 0, allShas, offset, refs.shas.length);
+            for (int i = Math.max(offset, 1); i < offset + refs.names.length; i++) {
+                sorted &= allNames[i - 1].compareTo(allNames[i]) < 0;
+            }
+            offset += refs.names.length;
+        }
+        if (sorted) {
+            this.names = allNames;
+            this.shas = allShas;
+            return;
+        }
+
+        // GitHub lists refs in name order, so this only happens if a ref is created or deleted between pages
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> allNames[i]));
+        String[] sortedNames = new String[size];
+        String[] sortedShas = new String[size];
+        int count = 0;
+        for (int i : order) {
+            // Keep one entry per ref if a ref moved from one page to the next
+            if (count == 0 || !sortedNames[count - 1].equals(allNames[i])) {
+                sortedNames[count] = allNames[i];
+                sortedShas[count] = allShas[i];
+                count++;
+            }
+        }
+        this.names = Arrays.copyOf(sortedNames, count);
+        this.shas = Arrays.copyOf(sortedShas, count);
+    }
+
+    /**
+     * Computes the refs that were created, moved or deleted since a previous snapshot of the same repository.
+     *
+     * @param previous
+     *            the earlier snapshot
+     * @return the changes, ordered by ref name
+     */
+    @Nonnull
+    public List<RefChange> diff(@Nonnull GHRefSnapshot previous) {
+        List<RefChange> changes = new ArrayList<>();
+        String[] oldNames = previous.names;
+        String[] oldShas = previous.shas;
+        int i = 0;
+        int j = 0;
+        while (i < oldNames.length || j < names.length) {
+            int order;
+            if (i == oldNames.length) {
+                order = 1;
+            } else if (j == names.length) {
+                order = -1;
+            } else {
+                order = oldNames[i].compareTo(names[j]);
+            }
+
+            if (order < 0) {
+                changes.add(new RefChange(RefChange.Type.DELETED, oldNames[i], oldShas[i], null));
+                i++;
+            } else if (order > 0) {
+                changes.add(new RefChange(RefChange.Type.CREATED, names[j], null, shas[j]));
+                j++;
+            } else {
+                if (!oldShas[i].equals(shas[j])) {
+                    changes.add(new RefChange(RefChange.Type.UPDATED, names[j], oldShas[i], shas[j]));
+                }
+                i++;
+                j++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * The names of all refs in this snapshot, such as "refs/heads/main", in sorted order.
+     *
+     * @return the ref names
+     */
+    @Nonnull
+    public List<String> getRefs() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * The repository this is a snapshot of.
+     *
+     * @return the repository
+     */
+    public GHRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * The SHA a ref points to.
+     *
+     * @param ref
+     *            the full name of the ref, such as "refs/heads/main"
+     * @return the SHA, or {@code null} if there is no such ref
+     */
+    @CheckForNull
+    public String getSha(@Nonnull String ref) {
+        int index = Arrays.binarySearch(names, ref);
+        return index >= 0 ? shas[index] : null;
+    }
+
+    /**
+     * Reads the refs of the repository again, revalidating each page of the previous listing with its {@code ETag}.
+     *
+     * @return a new snapshot, or this snapshot if no page of the listing changed
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public GHRefSnapshot refresh() throws IOException {
+        List<GitHubRevalidatedPages.Page<Refs>> refreshed = load(repository, pages);
+        if (refreshed.size() == pages.size()) {
+            boolean unchanged = true;
+            for (int i = 0; i < pages.size(); i++) {
+                unchanged &= refreshed.get(i) == pages.get(i);
+            }
+            if (unchanged) {
+                return this;
+            }
+        }
+        return new GHRefSnapshot(repository, refreshed);
+    }
+
+    /**
+     * The number of refs in this snapshot.
+     *
+     * @return the number of refs
+     */
+    public int size() {
+        return names.length;
+    }
+}
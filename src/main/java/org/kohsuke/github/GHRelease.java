@@ -3,7 +3,6 @@ package org.kohsuke.github;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -255,12 +254,14 @@ public class GHRelease extends GHObject {
      *             the io exception
      */
     public GHAsset uploadAsset(File file, String contentType) throws IOException {
-        FileInputStream s = new FileInputStream(file);
-        try {
-            return uploadAsset(file.getName(), s, contentType);
-        } finally {
-            s.close();
-        }
+        return owner.root()
+                .createRequest()
+                .method("POST")
+                .contentType(contentType)
+                .with(file)
+                .withUrlPath(getAssetUploadUrl(file.getName()))
+                .fetch(GHAsset.class)
+                .wrap(this);
     }
 
     /**
@@ -278,18 +279,25 @@ public class GHRelease extends GHObject {
      */
     public GHAsset uploadAsset(String filename, InputStream stream, String contentType) throws IOException {
         Requester builder = owner.root().createRequest().method("POST");
+        return builder.contentType(contentType)
+                .with(stream)
+                .withUrlPath(getAssetUploadUrl(filename))
+                .fetch(GHAsset.class)
+                .wrap(this);
+    }
+
+    private String getApiTailUrl(String end) {
+        return owner.getApiTailUrl(format("releases/%s/%s", getId(), end));
+    }
+
+    private String getAssetUploadUrl(String filename) throws IOException {
         String url = getUploadUrl();
         // strip the helpful garbage from the url
         int endIndex = url.indexOf('{');
         if (endIndex != -1) {
             url = url.substring(0, endIndex);
         }
-        url += "?name=" + URLEncoder.encode(filename, "UTF-8");
-        return builder.contentType(contentType).with(stream).withUrlPath(url).fetch(GHAsset.class).wrap(this);
-    }
-
-    private String getApiTailUrl(String end) {
-        return owner.getApiTailUrl(format("releases/%s/%s", getId(), end));
+        return url + "?name=" + URLEncoder.encode(filename, "UTF-8");
     }
 
     /**
@@ -28,6 +28,7 @@ import com.infradna.tool.bridge_method_injector.WithBridgeMethods;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.github.function.InputStreamFunction;
 import org.kohsuke.github.internal.EnumUtils;
@@ -38,7 +39,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -252,6 +255,9 @@ public class GHRepository extends GHObject {
         boolean pull, push, admin;
     }
 
+    // Largest page size accepted by the list commits endpoint.
+    private static final int HISTORY_PAGE_SIZE = 100;
+
     /**
      * Read.
      *
@@ -510,6 +516,17 @@ public class GHRepository extends GHObject {
         return new GHBlobBuilder(this);
     }
 
+    /**
+     * Creates a change set that commits changes to many files as a single commit on a branch.
+     *
+     * @param branch
+     *            the branch to commit to, eg: main
+     * @return a builder which you should customize, then call {@link GHChangeSetBuilder#commit()}
+     */
+    public GHChangeSetBuilder createChangeSet(@Nonnull String branch) {
+        return new GHChangeSetBuilder(this, branch);
+    }
+
     /**
      * Creates a check run for a commit.
      *
@@ -637,6 +654,16 @@ public class GHRepository extends GHObject {
         return GHHooks.repoContext(this, owner).createHook(name, config, events, active);
     }
 
+    /**
+     * Starts changing the labels, assignees and milestones of many issues or pull requests of this repository at once.
+     *
+     * @return the bulk updater
+     * @see GHIssueBulkUpdater
+     */
+    public GHIssueBulkUpdater bulkUpdateIssues() {
+        return new GHIssueBulkUpdater(this);
+    }
+
     /**
      * Create issue gh issue builder.
      *
@@ -1145,7 +1172,18 @@ public class GHRepository extends GHObject {
      */
     public GHBlob getBlob(String blobSha) throws IOException {
         String target = getApiTailUrl("git/blobs/" + blobSha);
-        return root().createRequest().withUrlPath(target).fetch(GHBlob.class);
+        GHBlobCache cache = root().getBlobCache();
+        if (cache != null) {
+            ByteBuffer cached = cache.get(blobSha);
+            if (cached != null) {
+                return GHBlob.fromContent(blobSha, root().getApiUrl() + target, GHBlobCache.toByteArray(cached));
+            }
+        }
+        GHBlob blob = root().createRequest().withUrlPath(target).fetch(GHBlob.class);
+        if (cache != null && "base64".equals(blob.getEncoding())) {
+            cache.put(blob.getSha(), IOUtils.toByteArray(blob.read()));
+        }
+        return blob;
     }
 
     /**
@@ -1919,6 +1957,18 @@ public class GHRepository extends GHObject {
         return GHRef.read(this, refName);
     }
 
+    /**
+     * Takes a snapshot of the refs of this repository, which can be refreshed with conditional requests and compared
+     * against earlier snapshots to find pushed, created and deleted refs.
+     *
+     * @return the snapshot
+     * @throws IOException
+     *             on failure communicating with GitHub
+     */
+    public GHRefSnapshot getRefSnapshot() throws IOException {
+        return GHRefSnapshot.read(this);
+    }
+
     /**
      * Retrieves all refs for the github repository.
      *
@@ -2186,6 +2236,7 @@ public class GHRepository extends GHObject {
      * @return the tree recursive
      * @throws IOException
      *             on failure communicating with GitHub, potentially due to an invalid tree type being requested
+     * @see GHTreeWalker for trees too large to be listed recursively in one request
      */
     public GHTree getTreeRecursive(String sha, int recursive) throws IOException {
         String url = String.format("/repos/%s/%s/git/trees/%s", getOwnerName(), name, sha);
@@ -2296,6 +2347,7 @@ public class GHRepository extends GHObject {
      * @return the workflow run
      * @throws IOException
      *             the io exception
+     * @see GHWorkflowRunWatcher
      */
     public GHWorkflowRun getWorkflowRun(long id) throws IOException {
         return root().createRequest()
@@ -2771,11 +2823,22 @@ public class GHRepository extends GHObject {
                 .toIterable(GHInvitation[].class, null);
     }
 
+    /**
+     * Starts exporting the comments and events of all issues and pull requests of this repository.
+     *
+     * @return the exporter
+     * @see GHIssueActivityExporter
+     */
+    public GHIssueActivityExporter exportIssueActivity() {
+        return new GHIssueActivityExporter(this);
+    }
+
     /**
      * Get all issue events for this repository. See
      * https://developer.github.com/v3/issues/events/#list-events-for-a-repository
      *
      * @return the paged iterable
+     * @see #exportIssueActivity()
      */
     public PagedIterable<GHIssueEvent> listIssueEvents() {
         return root().createRequest()
@@ -3067,10 +3130,14 @@ public class GHRepository extends GHObject {
         String target = getApiTailUrl("git/blobs/" + blobSha);
 
         // https://developer.github.com/v3/media/ describes this media type
-        return root().createRequest()
+        Requester requester = root().createRequest()
                 .withHeader("Accept", "application/vnd.github.raw")
-                .withUrlPath(target)
-                .fetchStream(Requester::copyInputStream);
+                .withUrlPath(target);
+        GHBlobCache cache = root().getBlobCache();
+        if (cache != null) {
+            return GHBlobCache.toInputStream(cache.get(blobSha, () -> requester.fetchStream(IOUtils::toByteArray)));
+        }
+        return requester.fetchStream(Requester::copyInputStream);
     }
 
     /**
@@ -3379,6 +3446,55 @@ public class GHRepository extends GHObject {
         return new GHCheckRunBuilder(this, checkId);
     }
 
+    /**
+     * Walks the commit history starting at the given commit, fetching up to 100 ancestors per request.
+     * <p>
+     * Commits are returned in the order GitHub lists them, newest first. While the returned commits are reachable,
+     * calls to {@link GHCommit#getParents()} on them, and to {@link #getCommit(String)} for their walked parents, are
+     * answered without another request. Commits returned by this method are not fully populated;
+     * the file list and stats are fetched on demand.
+     *
+     * @param sha
+     *            the SHA1, branch or tag to start walking from
+     * @param depth
+     *            the maximum number of commits to return
+     * @return the commits reachable from {@code sha}, at most {@code depth} of them
+     * @throws IOException
+     *             the io exception
+     * @see <a href="https://docs.github.com/en/rest/commits/commits#list-commits">List commits</a>
+     */
+    public List<GHCommit> walkHistory(@Nonnull String sha, int depth) throws IOException {
+        List<GHCommit> history = new ArrayList<>();
+        if (depth <= 0) {
+            return history;
+        }
+        PagedIterator<GHCommit> iterator = queryCommits().from(sha)
+                .pageSize(Math.min(depth, HISTORY_PAGE_SIZE))
+                .list()
+                .iterator();
+        Map<String, GHCommit> walked = new HashMap<>();
+        while (history.size() < depth && iterator.hasNext()) {
+            GHCommit commit = iterator.next();
+            GHCommit known = commits.get(commit.getSHA1());
+            if (known != null) {
+                commit = known;
+            }
+            history.add(commit);
+            walked.put(commit.getSHA1(), commit);
+        }
+        // The commit cache holds its keys weakly. A walked commit is keyed by the SHA string its child holds rather
+        // than by its own, which it would keep reachable forever, so it is remembered only as long as its child is.
+        for (GHCommit commit : history) {
+            for (String parentSHA1 : commit.getParentSHA1s()) {
+                GHCommit parent = walked.get(parentSHA1);
+                if (parent != null) {
+                    commits.putIfAbsent(parentSHA1, parent);
+                }
+            }
+        }
+        return history;
+    }
+
     private <T> T downloadArchive(@Nonnull String type,
             @CheckForNull String ref,
             @Nonnull InputStreamFunction<T> streamFunction) throws IOException {
@@ -132,6 +132,16 @@ public class GHRepositorySearchBuilder extends GHSearchBuilder<GHRepository> {
         return q("org:" + v);
     }
 
+    /**
+     * Creates a search for every matching repository, beyond the 1,000 results GitHub returns for a single query, by
+     * splitting it into ranges of creation date.
+     *
+     * @return the partitioned search
+     */
+    public GHPartitionedSearch<GHRepository> partitioned() {
+        return partitioned("created", GHObject::getId);
+    }
+
     /**
      * Pushed gh repository search builder.
      *
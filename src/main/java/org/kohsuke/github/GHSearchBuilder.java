@@ -4,6 +4,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -72,6 +73,21 @@ public abstract class GHSearchBuilder<T> extends GHQueryBuilder<T> {
      */
     protected abstract String getApiUrl();
 
+    /**
+     * Creates a search that is split into date ranges so that all of its results can be listed.
+     *
+     * @param dateQualifier
+     *            the qualifier to partition on
+     * @param identity
+     *            extracts the value that identifies duplicate results
+     * @return the partitioned search
+     */
+    GHPartitionedSearch<T> partitioned(String dateQualifier, Function<T, Object> identity) {
+        String query = StringUtils.join(terms, " ");
+        req.set("q", query);
+        return new GHPartitionedSearch<>(root(), req.build(), query, receiverType, dateQualifier, identity);
+    }
+
     /**
      * Add a search term with qualifier.
      *
@@ -511,7 +511,18 @@ public class GHTeam extends GHObject implements Refreshable {
         root().createRequest().method("PATCH").with("privacy", privacy).withUrlPath(api("")).send();
     }
 
-    private String api(String tail) {
+    private String publicApi(String tail) throws IOException {
+        return "/orgs/" + getOrganization().login + "/teams/" + getSlug() + tail;
+    }
+
+    /**
+     * Gets the API URL path of this team with a tail appended.
+     *
+     * @param tail
+     *            the tail, starting with {@code /} unless empty
+     * @return the URL path
+     */
+    String api(String tail) {
         if (organization == null) {
             // Teams returned from pull requests to do not have an organization. Attempt to use url.
             final URL url = Objects.requireNonNull(getUrl(), "Missing instance URL!");
@@ -521,10 +532,6 @@ public class GHTeam extends GHObject implements Refreshable {
         return "/organizations/" + organization.getId() + "/team/" + getId() + tail;
     }
 
-    private String publicApi(String tail) throws IOException {
-        return "/orgs/" + getOrganization().login + "/teams/" + getSlug() + tail;
-    }
-
     /**
      * Wrap up.
      *
@@ -93,7 +93,7 @@ public class GHTreeBuilder {
     public GHTreeBuilder add(String path, byte[] content, boolean executable) {
         try {
             String dataSha = repo.createBlob().binaryContent(content).create().getSha();
-            return shaEntry(path, dataSha, executable);
+            return blobEntry(path, dataSha, executable);
         } catch (IOException e) {
             throw new GHException("Cannot create binary content of '" + path + "'", e);
         }
@@ -150,10 +150,7 @@ public class GHTreeBuilder {
      */
     @Deprecated
     public GHTreeBuilder shaEntry(String path, String sha, boolean executable) {
-        TreeEntry entry = new TreeEntry(path, executable ? "100755" : "100644", "blob");
-        entry.sha = sha;
-        treeEntries.add(entry);
-        return this;
+        return blobEntry(path, sha, executable);
     }
 
     /**
@@ -176,6 +173,24 @@ public class GHTreeBuilder {
         return this;
     }
 
+    /**
+     * Adds an entry for a blob that has already been created.
+     *
+     * @param path
+     *            the file path in the tree
+     * @param sha
+     *            the SHA of the blob
+     * @param executable
+     *            true, if the file should be executable
+     * @return this GHTreeBuilder
+     */
+    GHTreeBuilder blobEntry(String path, String sha, boolean executable) {
+        TreeEntry entry = new TreeEntry(path, executable ? "100755" : "100644", "blob");
+        entry.sha = sha;
+        treeEntries.add(entry);
+        return this;
+    }
+
     private String getApiTail() {
         return String.format("/repos/%s/%s/git/trees", repo.getOwnerName(), repo.getName());
     }
@@ -0,0 +1,259 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Walks every entry of a git tree, however large.
+ * <p>
+ * A tree is first requested recursively. When GitHub truncates the recursive listing because the tree is too large,
+ * the walker lists the tree non-recursively instead and walks each of its subtrees the same way, fetching several
+ * subtrees at once. Entries are passed to the consumer as each listing arrives, always on the thread that called
+ * {@link #walk(GHRepository, String, Consumer)}, so the consumer does not need to be thread-safe.
+ * </p>
+ * <p>
+ * Subtrees are fetched on the {@link ExecutorService} passed to the constructor, at most
+ * {@link #maxConcurrency(int)} at a time. The caller owns the executor and is responsible for shutting it down.
+ * </p>
+ *
+ * @see GHRepository#getTreeRecursive(String, int)
+ * @see GHTree#isTruncated()
+ */
+public class GHTreeWalker {
+
+    /**
+     * An entry of the tree being walked.
+     */
+    public static final class Entry {
+
+        private final String mode;
+
+        private final String path;
+
+        private final String sha;
+
+        private final long size;
+
+        Entry(String path, String mode, String sha, long size) {
+            this.path = path;
+            this.mode = mode;
+            this.sha = sha;
+            this.size = size;
+        }
+
+        /**
+         * Get mode such as 100644.
+         *
+         * @return the mode
+         */
+        public String getMode() {
+            return mode;
+        }
+
+        /**
+         * Gets the path of the entry from the root of the walked tree, such as "src/main/App.java".
+         *
+         * @return the path
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * SHA1 of this object.
+         *
+         * @return the sha
+         */
+        public String getSha() {
+            return sha;
+        }
+
+        /**
+         * Gets the size of the file, or zero for a tree or submodule.
+         *
+         * @return the size
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Whether this entry is a directory.
+         *
+         * @return true if this entry is a tree
+         */
+        public boolean isTree() {
+            return TREE_MODE.equals(mode);
+        }
+
+        @Override
+        public String toString() {
+            return mode + " " + sha + " " + path;
+        }
+    }
+
+    /**
+     * The entries of one tree, as returned by a single request.
+     */
+    private static final class Listing {
+
+        private final List<GHTreeEntry> entries;
+
+        /** The path of the listed tree followed by a slash, or empty for the root. */
+        private final String prefix;
+
+        /** Whether the listing includes the contents of subtrees. */
+        private final boolean recursive;
+
+        Listing(String prefix, List<GHTreeEntry> entries, boolean recursive) {
+            this.prefix = prefix;
+            this.entries = entries;
+            this.recursive = recursive;
+        }
+    }
+
+    /**
+     * A tree that is still to be listed.
+     */
+    private static final class Subtree {
+
+        private final String prefix;
+
+        private final String sha;
+
+        Subtree(String sha, String prefix) {
+            this.sha = sha;
+            this.prefix = prefix;
+        }
+    }
+
+    private static final String TREE_MODE = "040000";
+
+    private final ExecutorService executor;
+
+    private int maxConcurrency = 8;
+
+    private String pathPrefix = "";
+
+    /**
+     * Creates a tree walker that fetches subtrees on the given executor.
+     *
+     * @param executor
+     *            the executor to fetch trees on
+     */
+    public GHTreeWalker(@Nonnull ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Sets how many trees are fetched at once. Defaults to 8.
+     *
+     * @param maxConcurrency
+     *            the maximum number of concurrent requests
+     * @return this tree walker
+     */
+    public GHTreeWalker maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Only walks the entries under a directory, such as "services/api". Subtrees outside of it are not fetched.
+     *
+     * @param pathPrefix
+     *            the directory to walk, or an empty string to walk the whole tree
+     * @return this tree walker
+     */
+    public GHTreeWalker pathPrefix(@Nonnull String pathPrefix) {
+        String prefix = pathPrefix;
+        while (prefix.endsWith("/")) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        this.pathPrefix = prefix;
+        return this;
+    }
+
+    /**
+     * Walks a tree, passing each of its entries to the consumer.
+     * <p>
+     * Entries within a listing are passed in the order GitHub lists them, but listings of different subtrees may
+     * arrive in any order.
+     * </p>
+     *
+     * @param repository
+     *            the repository the tree belongs to
+     * @param treeSha
+     *            the SHA of the tree, or a commit SHA or branch name to walk its tree
+     * @param consumer
+     *            receives every entry under the path prefix
+     * @throws IOException
+     *             if a tree could not be fetched
+     */
+    public void walk(@Nonnull GHRepository repository, @Nonnull String treeSha, @Nonnull Consumer<Entry> consumer)
+            throws IOException {
+        CompletionService<Listing> completion = new ExecutorCompletionService<>(executor);
+        Deque<Subtree> pending = new ArrayDeque<>();
+        Set<Future<Listing>> running = new HashSet<>();
+        pending.add(new Subtree(treeSha, ""));
+        try {
+            while (!pending.isEmpty() || !running.isEmpty()) {
+                while (!pending.isEmpty() && running.size() < maxConcurrency) {
+                    Subtree subtree = pending.poll();
+                    running.add(completion.submit(() -> list(repository, subtree)));
+                }
+                Future<Listing> future = completion.take();
+                running.remove(future);
+                Listing listing = Futures.await(future);
+                for (GHTreeEntry entry : listing.entries) {
+                    String path = listing.prefix + entry.getPath();
+                    if (isWithinPrefix(path)) {
+                        consumer.accept(new Entry(path, entry.getMode(), entry.getSha(), entry.getSize()));
+                    }
+                    if (!listing.recursive && TREE_MODE.equals(entry.getMode())
+                            && (isWithinPrefix(path) || pathPrefix.startsWith(path + "/"))) {
+                        pending.add(new Subtree(entry.getSha(), path + "/"));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        } finally {
+            // Stop whatever is still running after a failure
+            for (Future<Listing> future : running) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private boolean isWithinPrefix(String path) {
+        return pathPrefix.isEmpty() || path.equals(pathPrefix) || path.startsWith(pathPrefix + "/");
+    }
+
+    private Listing list(GHRepository repository, Subtree subtree) throws IOException {
+        String path = subtree.prefix.isEmpty() ? "" : subtree.prefix.substring(0, subtree.prefix.length() - 1);
+        if (isWithinPrefix(path)) {
+            GHTree tree = repository.getTreeRecursive(subtree.sha, 1);
+            if (!tree.isTruncated()) {
+                return new Listing(subtree.prefix, tree.getTree(), true);
+            }
+        }
+        // Too large to list at once, or mostly outside the path prefix
+        return new Listing(subtree.prefix, repository.getTree(subtree.sha).getTree(), false);
+    }
+}
@@ -6,6 +6,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.github.GHWorkflowRun.Conclusion;
 import org.kohsuke.github.GHWorkflowRun.Status;
+import org.kohsuke.github.function.FunctionThrows;
 import org.kohsuke.github.function.InputStreamFunction;
 
 import java.io.IOException;
@@ -322,6 +323,24 @@ public class GHWorkflowJob extends GHObject {
         return Collections.unmodifiableList(steps);
     }
 
+    /**
+     * Reads the logs line by line, as they are downloaded.
+     *
+     * @param <T>
+     *            the type of result
+     * @param function
+     *            reads the lines from the {@link GHWorkflowLogReader}
+     * @return the result of the function
+     * @throws IOException
+     *             The IO exception.
+     * @see GHWorkflowLogReader
+     */
+    public <T> T readLogs(FunctionThrows<GHWorkflowLogReader, T, IOException> function) throws IOException {
+        requireNonNull(function, "Function must not be null");
+
+        return downloadLogs(input -> function.apply(GHWorkflowLogReader.ofJobLog(input, getName())));
+    }
+
     private String getApiRoute() {
         if (owner == null) {
             // Workflow runs returned from search to do not have an owner. Attempt to use url.
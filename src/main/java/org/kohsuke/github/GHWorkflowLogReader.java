@@ -0,0 +1,419 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the lines of workflow logs one at a time, as they are downloaded.
+ * <p>
+ * The logs of a workflow run are a zip archive with one entry for each step of each job, named
+ * {@code <job>/<number>_<step>.txt}, and one entry with the whole log of each job, named {@code <number>_<job>.txt}.
+ * The logs of a single job are one text file. Either way, lines are only read and decoded when they are asked for,
+ * and nothing but the current line is kept, so logs of any size can be searched.
+ * </p>
+ * <p>
+ * Steps and lines can be filtered while reading. Entries of steps that are filtered out are skipped without being
+ * decoded, and lines are checked for {@link #containing(String) literal text} before they are decoded.
+ * </p>
+ *
+ * <pre>
+ * List&lt;GHWorkflowLogReader.Line&gt; lines = run.readLogs(reader -&gt; reader.steps((job, step) -&gt; step != null)
+ *         .matching(Pattern.compile("error|fail", Pattern.CASE_INSENSITIVE))
+ *         .tail(300));
+ * </pre>
+ *
+ * @see GHWorkflowRun#readLogs(org.kohsuke.github.function.FunctionThrows)
+ * @see GHWorkflowJob#readLogs(org.kohsuke.github.function.FunctionThrows)
+ */
+public final class GHWorkflowLogReader implements Iterator<GHWorkflowLogReader.Line> {
+
+    /**
+     * A line of a log.
+     */
+    public static final class Line {
+
+        private final String job;
+
+        private final int number;
+
+        @CheckForNull
+        private final String step;
+
+        private final String text;
+
+        Line(String job, @CheckForNull String step, int number, String text) {
+            this.job = job;
+            this.step = step;
+            this.number = number;
+            this.text = text;
+        }
+
+        /**
+         * Gets the name of the job the line was logged by.
+         *
+         * @return the job
+         */
+        public String getJob() {
+            return job;
+        }
+
+        /**
+         * Gets the number of the line in the log of its step, or of its job, starting at 1.
+         *
+         * @return the line number
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Gets the name of the step the line was logged by.
+         *
+         * @return the step, or {@code null} if the line is from the whole log of a job
+         */
+        @CheckForNull
+        public String getStep() {
+            return step;
+        }
+
+        /**
+         * Gets the text of the line, including its timestamp and without its line terminator.
+         *
+         * @return the text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets the text of the line.
+         *
+         * @return the text
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    /**
+     * Reads the zip archive of the logs of a workflow run.
+     *
+     * @param archive
+     *            the archive, as passed to the function given to
+     *            {@link GHWorkflowRun#downloadLogs(org.kohsuke.github.function.InputStreamFunction)}
+     * @return the reader
+     */
+    public static GHWorkflowLogReader ofRunArchive(@Nonnull InputStream archive) {
+        return new GHWorkflowLogReader(new ZipInputStream(archive, StandardCharsets.UTF_8), null, null);
+    }
+
+    /**
+     * Reads the log of a single workflow job.
+     *
+     * @param log
+     *            the log, as passed to the function given to
+     *            {@link GHWorkflowJob#downloadLogs(org.kohsuke.github.function.InputStreamFunction)}
+     * @param job
+     *            the name of the job
+     * @return the reader
+     */
+    public static GHWorkflowLogReader ofJobLog(@Nonnull InputStream log, @Nonnull String job) {
+        return new GHWorkflowLogReader(null, Objects.requireNonNull(log), Objects.requireNonNull(job));
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte[] target) {
+        outer: for (int i = from; i <= to - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the order prefix and extension from the name of a log file.
+     */
+    private static String stripFileName(String fileName) {
+        String name = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        int separator = name.indexOf('_');
+        for (int i = 0; i < separator; i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return name;
+            }
+        }
+        return separator > 0 ? name.substring(separator + 1) : name;
+    }
+
+    @CheckForNull
+    private final ZipInputStream archive;
+
+    private final byte[] buffer = new byte[8192];
+
+    @CheckForNull
+    private InputStream entry;
+
+    private String job;
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    private int lineNumber;
+
+    private int limit;
+
+    @CheckForNull
+    private byte[] literal;
+
+    @CheckForNull
+    private Line next;
+
+    @CheckForNull
+    private Pattern pattern;
+
+    private int position;
+
+    @CheckForNull
+    private InputStream single;
+
+    @CheckForNull
+    private String step;
+
+    @CheckForNull
+    private BiPredicate<String, String> stepFilter;
+
+    private GHWorkflowLogReader(@CheckForNull ZipInputStream archive,
+            @CheckForNull InputStream single,
+            @CheckForNull String job) {
+        this.archive = archive;
+        this.single = single;
+        this.job = job;
+    }
+
+    /**
+     * Only reads lines that contain the given text. The text is looked for before lines are decoded, which is cheaper
+     * than {@link #matching(Pattern)}.
+     *
+     * @param text
+     *            the text lines must contain
+     * @return this reader
+     */
+    public GHWorkflowLogReader containing(@Nonnull String text) {
+        this.literal = text.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Whether there are more lines.
+     *
+     * @return true if there are more lines
+     * @throws GHException
+     *             if the logs could not be read
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new GHException("Failed to read workflow logs", e);
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * Only reads lines in which the given pattern is found.
+     *
+     * @param pattern
+     *            the pattern to find in lines
+     * @return this reader
+     */
+    public GHWorkflowLogReader matching(@Nonnull Pattern pattern) {
+        this.pattern = Objects.requireNonNull(pattern);
+        return this;
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return the line
+     * @throws GHException
+     *             if the logs could not be read
+     */
+    @Override
+    public Line next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Line line = next;
+        next = null;
+        return line;
+    }
+
+    /**
+     * Only reads the logs of the steps accepted by the filter. The filter is passed the name of the job and of the
+     * step, which is {@code null} for the whole log of a job.
+     *
+     * @param filter
+     *            accepts the steps to read
+     * @return this reader
+     */
+    public GHWorkflowLogReader steps(@Nonnull BiPredicate<String, String> filter) {
+        this.stepFilter = Objects.requireNonNull(filter);
+        return this;
+    }
+
+    /**
+     * Reads the remaining lines and keeps only the last of them.
+     *
+     * @param count
+     *            the number of lines to keep
+     * @return the last lines, in the order they were logged
+     * @throws GHException
+     *             if the logs could not be read
+     */
+    public List<Line> tail(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        ArrayDeque<Line> lines = new ArrayDeque<>(Math.min(count, 1024));
+        while (hasNext()) {
+            lines.addLast(next());
+            if (lines.size() > count) {
+                lines.removeFirst();
+            }
+        }
+        return new ArrayList<>(lines);
+    }
+
+    @CheckForNull
+    private Line advance() throws IOException {
+        while (true) {
+            if (entry == null && !nextEntry()) {
+                return null;
+            }
+            if (!readLine()) {
+                entry = null;
+                continue;
+            }
+            lineNumber++;
+            int offset = lineNumber == 1 && indexOf(line, 0, Math.min(lineLength, BOM.length), BOM) == 0
+                    ? BOM.length
+                    : 0;
+            byte[] literal = this.literal;
+            if (literal != null && indexOf(line, offset, lineLength, literal) < 0) {
+                continue;
+            }
+            String text = new String(line, offset, lineLength - offset, StandardCharsets.UTF_8);
+            Pattern pattern = this.pattern;
+            if (pattern != null && !pattern.matcher(text).find()) {
+                continue;
+            }
+            return new Line(job, step, lineNumber, text);
+        }
+    }
+
+    private boolean isAccepted(String job, @CheckForNull String step) {
+        BiPredicate<String, String> filter = stepFilter;
+        return filter == null || filter.test(job, step);
+    }
+
+    /**
+     * Moves to the next log file that is accepted by the step filter.
+     *
+     * @return false if there are no more log files
+     */
+    private boolean nextEntry() throws IOException {
+        position = 0;
+        limit = 0;
+        lineNumber = 0;
+        ZipInputStream archive = this.archive;
+        if (archive == null) {
+            InputStream single = this.single;
+            this.single = null;
+            if (single == null || !isAccepted(job, null)) {
+                return false;
+            }
+            entry = single;
+            return true;
+        }
+        for (ZipEntry zipEntry; (zipEntry = archive.getNextEntry()) != null;) {
+            if (zipEntry.isDirectory()) {
+                continue;
+            }
+            String name = zipEntry.getName();
+            int separator = name.lastIndexOf('/');
+            String entryJob = separator < 0 ? stripFileName(name) : name.substring(0, separator);
+            String entryStep = separator < 0 ? null : stripFileName(name.substring(separator + 1));
+            if (isAccepted(entryJob, entryStep)) {
+                job = entryJob;
+                step = entryStep;
+                entry = archive;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next line of the current log file into {@link #line}, without its line terminator.
+     *
+     * @return false at the end of the log file
+     */
+    private boolean readLine() throws IOException {
+        InputStream in = Objects.requireNonNull(entry);
+        lineLength = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                int n = in.read(buffer, 0, buffer.length);
+                if (n < 0) {
+                    break;
+                }
+                position = 0;
+                limit = n;
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            if (lineLength + position - start > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + position - start));
+            }
+            System.arraycopy(buffer, start, line, lineLength, position - start);
+            lineLength += position - start;
+            if (position < limit) {
+                // Skip the line feed
+                position++;
+                break;
+            }
+        }
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        return read;
+    }
+}
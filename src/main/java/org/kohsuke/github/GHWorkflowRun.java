@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.infradna.tool.bridge_method_injector.WithBridgeMethods;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.github.function.FunctionThrows;
 import org.kohsuke.github.function.InputStreamFunction;
 import org.kohsuke.github.internal.EnumUtils;
 
@@ -591,6 +592,24 @@ public class GHWorkflowRun extends GHObject {
         return new GHWorkflowJobQueryBuilder(this).latest().list();
     }
 
+    /**
+     * Reads the logs line by line, as they are downloaded.
+     *
+     * @param <T>
+     *            the type of result
+     * @param function
+     *            reads the lines from the {@link GHWorkflowLogReader}
+     * @return the result of the function
+     * @throws IOException
+     *             The IO exception.
+     * @see GHWorkflowLogReader
+     */
+    public <T> T readLogs(FunctionThrows<GHWorkflowLogReader, T, IOException> function) throws IOException {
+        requireNonNull(function, "Function must not be null");
+
+        return downloadLogs(input -> function.apply(GHWorkflowLogReader.ofRunArchive(input)));
+    }
+
     /**
      * Rerun the workflow run.
      *
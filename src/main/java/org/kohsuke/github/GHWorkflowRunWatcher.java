@@ -0,0 +1,236 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Watches workflow runs until they complete.
+ * <p>
+ * Each watched run is polled with a conditional request, so a poll that finds the run unchanged is answered with
+ * {@code 304 Not Modified} and does not count against the rate limit. Runs are polled every
+ * {@link #minInterval(Duration)} after they change, and less often the longer they stay unchanged, up to
+ * {@link #maxInterval(Duration)}. Runs waiting for a deployment review or for approval are always polled at the maximum
+ * interval.
+ * </p>
+ * <p>
+ * Polls run on the given executor, whose pool size limits how many runs are polled at the same time. Watching a run
+ * returns a future that completes with the run once its status is {@link GHWorkflowRun.Status#COMPLETED}, or
+ * exceptionally if the run could not be read or the executor rejected its next poll. A poll that fails with a server
+ * error is retried at the next interval; a second one in a row fails the watch. Cancelling the future stops watching
+ * the run. The jobs and logs of a completed run are not read by the watcher; use {@link GHWorkflowRun#listJobs()} and
+ * {@link GHWorkflowJob#downloadLogs(org.kohsuke.github.function.InputStreamFunction)} for the runs that need them.
+ * </p>
+ *
+ * <pre>
+ * GHWorkflowRunWatcher watcher = new GHWorkflowRunWatcher(scheduler);
+ * watcher.watch(repository, runId).thenAccept(run -&gt; {
+ *     if (run.getConclusion() != GHWorkflowRun.Conclusion.SUCCESS) {
+ *         ...
+ *     }
+ * });
+ * </pre>
+ */
+public class GHWorkflowRunWatcher {
+
+    /**
+     * The state of one watched run.
+     */
+    private final class Watch implements Runnable {
+
+        private long delayNanos = minIntervalNanos;
+
+        @CheckForNull
+        private String etag;
+
+        private boolean failed;
+
+        private final CompletableFuture<GHWorkflowRun> future = new CompletableFuture<>();
+
+        private final long id;
+
+        private final GHRepository repository;
+
+        @CheckForNull
+        private GHWorkflowRun run;
+
+        Watch(GHRepository repository, long id) {
+            this.repository = repository;
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            boolean changed;
+            try {
+                changed = poll();
+                failed = false;
+            } catch (HttpException e) {
+                if (e.getResponseCode() < HttpURLConnection.HTTP_INTERNAL_ERROR || failed) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // A single server error is tolerated, so that a long watch survives a transient outage
+                failed = true;
+                changed = false;
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            if (!complete()) {
+                schedule(changed);
+            }
+        }
+
+        /**
+         * Completes the future if the run has completed.
+         */
+        boolean complete() {
+            GHWorkflowRun current = run;
+            if (current != null && current.getStatus() == GHWorkflowRun.Status.COMPLETED) {
+                future.complete(current);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Reads the run, unless it has not changed since it was last read.
+         *
+         * @return true if the run changed
+         */
+        private boolean poll() throws IOException {
+            Requester requester = repository.root()
+                    .createRequest()
+                    .withUrlPath(repository.getApiTailUrl("actions/runs"), String.valueOf(id));
+            String previousEtag = etag;
+            GHWorkflowRun previous = run;
+            if (previousEtag != null && previous != null) {
+                requester.setHeader("If-None-Match", previousEtag);
+            }
+            GitHubResponse<GHWorkflowRun> response = repository.root()
+                    .getClient()
+                    .sendRequest(requester.build(),
+                            connectorResponse -> GitHubResponse.parseBody(connectorResponse, GHWorkflowRun.class));
+            if (previous != null && response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return false;
+            }
+            GHWorkflowRun current = Objects.requireNonNull(response.body()).wrapUp(repository);
+            etag = response.header("ETag");
+            run = current;
+            return previous == null || previous.getStatus() != current.getStatus();
+        }
+
+        void schedule(boolean changed) {
+            GHWorkflowRun.Status status = run != null ? run.getStatus() : null;
+            if (status == GHWorkflowRun.Status.WAITING || status == GHWorkflowRun.Status.ACTION_REQUIRED) {
+                delayNanos = maxIntervalNanos;
+            } else if (changed) {
+                delayNanos = minIntervalNanos;
+            } else {
+                delayNanos = Math.min(maxIntervalNanos, delayNanos * 2);
+            }
+            try {
+                executor.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+
+    private long maxIntervalNanos = TimeUnit.MINUTES.toNanos(1);
+
+    private long minIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Creates a watcher.
+     * <p>
+     * The caller owns the executor and is responsible for shutting it down, which stops all polling. A watch whose
+     * next poll is rejected by the executor completes exceptionally with a {@link RejectedExecutionException}.
+     * </p>
+     *
+     * @param executor
+     *            the executor to poll runs on
+     */
+    public GHWorkflowRunWatcher(@Nonnull ScheduledExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Sets the longest time between two polls of a run. Defaults to one minute.
+     *
+     * @param maxInterval
+     *            the longest time between polls
+     * @return this watcher
+     */
+    public GHWorkflowRunWatcher maxInterval(@Nonnull Duration maxInterval) {
+        if (maxInterval.isNegative() || maxInterval.isZero()) {
+            throw new IllegalArgumentException("maxInterval must be greater than zero");
+        }
+        this.maxIntervalNanos = maxInterval.toNanos();
+        return this;
+    }
+
+    /**
+     * Sets the time between two polls of a run that just changed. Defaults to five seconds.
+     *
+     * @param minInterval
+     *            the shortest time between polls
+     * @return this watcher
+     */
+    public GHWorkflowRunWatcher minInterval(@Nonnull Duration minInterval) {
+        if (minInterval.isNegative() || minInterval.isZero()) {
+            throw new IllegalArgumentException("minInterval must be greater than zero");
+        }
+        this.minIntervalNanos = minInterval.toNanos();
+        return this;
+    }
+
+    /**
+     * Watches a run until it completes, starting with a poll right away.
+     *
+     * @param repository
+     *            the repository of the run
+     * @param id
+     *            the id of the run
+     * @return a future that completes with the completed run
+     */
+    public CompletableFuture<GHWorkflowRun> watch(@Nonnull GHRepository repository, long id) {
+        Watch watch = new Watch(Objects.requireNonNull(repository), id);
+        try {
+            executor.execute(watch);
+        } catch (RejectedExecutionException e) {
+            watch.future.completeExceptionally(e);
+        }
+        return watch.future;
+    }
+
+    /**
+     * Watches a run until it completes. A run that has already completed completes the future right away.
+     *
+     * @param run
+     *            the run, as last read
+     * @return a future that completes with the completed run
+     */
+    public CompletableFuture<GHWorkflowRun> watch(@Nonnull GHWorkflowRun run) {
+        Watch watch = new Watch(run.getRepository(), run.getId());
+        watch.run = run;
+        if (!watch.complete()) {
+            watch.schedule(true);
+        }
+        return watch.future;
+    }
+}
@@ -35,6 +35,7 @@ import java.io.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
@@ -163,8 +164,15 @@ public class GitHub {
             }
         }
     }
+
+    /** The number of labels held by the label cache. A power of two. */
+    private static final int LABEL_CACHE_SIZE = 1024;
+
     private static final Logger LOGGER = Logger.getLogger(GitHub.class.getName());
 
+    /** The number of users held by the canonical user cache. A power of two. */
+    private static final int USER_CACHE_SIZE = 1024;
+
     /**
      * Obtains the credential from "~/.github" or from the System Environment Properties.
      *
@@ -319,9 +327,21 @@ public class GitHub {
         }
     }
 
+    /**
+     * Users seen in nested positions when reading the compact model. A direct mapped cache indexed by user id, like
+     * {@link #labels}, so the cache never holds more than {@link #USER_CACHE_SIZE} users.
+     */
+    private final AtomicReferenceArray<GHUser> canonicalUsers = new AtomicReferenceArray<>(USER_CACHE_SIZE);
+
     @Nonnull
     private final GitHubClient client;
 
+    /**
+     * Labels seen in nested positions when reading the compact model. A direct mapped cache indexed by label id: a
+     * label replaces whatever occupied its slot, so the cache never holds more than {@link #LABEL_CACHE_SIZE} labels.
+     */
+    private final AtomicReferenceArray<GHLabel> labels = new AtomicReferenceArray<>(LABEL_CACHE_SIZE);
+
     @CheckForNull
     private GHMyself myself;
 
@@ -379,6 +399,12 @@ public class GitHub {
      *            rateLimitChecker
      * @param authorizationProvider
      *            a authorization provider
+     * @param compactModel
+     *            whether to store data objects in a compact form
+     * @param instrumentation
+     *            the instrumentation of requests, or null
+     * @param blobCache
+     *            the cache of blob contents, or null
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
@@ -388,7 +414,10 @@ public class GitHub {
             GitHubRateLimitHandler rateLimitHandler,
             GitHubAbuseLimitHandler abuseLimitHandler,
             GitHubRateLimitChecker rateLimitChecker,
-            AuthorizationProvider authorizationProvider) throws IOException {
+            AuthorizationProvider authorizationProvider,
+            boolean compactModel,
+            @CheckForNull GitHubInstrumentation instrumentation,
+            @CheckForNull GHBlobCache blobCache) throws IOException {
         if (authorizationProvider instanceof DependentAuthorizationProvider) {
             ((DependentAuthorizationProvider) authorizationProvider).bind(this);
         } else if (authorizationProvider instanceof ImmutableAuthorizationProvider
@@ -408,7 +437,10 @@ public class GitHub {
                 rateLimitHandler,
                 abuseLimitHandler,
                 rateLimitChecker,
-                authorizationProvider);
+                authorizationProvider,
+                compactModel,
+                instrumentation,
+                blobCache);
 
         // Ensure we have the login if it is available
         // This preserves previously existing behavior. Consider removing in future.
@@ -1151,6 +1183,12 @@ public class GitHub {
     public void refreshCache() {
         users.clear();
         orgs.clear();
+        for (int i = 0; i < USER_CACHE_SIZE; i++) {
+            canonicalUsers.set(i, null);
+        }
+        for (int i = 0; i < LABEL_CACHE_SIZE; i++) {
+            labels.set(i, null);
+        }
     }
 
     /**
@@ -1275,6 +1313,27 @@ public class GitHub {
         return u;
     }
 
+    /**
+     * Gets the user of the same id and login already known to this instance, or else remembers {@code user}.
+     * <p>
+     * Unlike {@link #intern(GHUser)}, the users are held in a bounded cache, so reading many users does not grow it.
+     * </p>
+     *
+     * @param user
+     *            the user
+     * @return a user of the same id and login, possibly the one passed in
+     */
+    GHUser canonicalUser(GHUser user) {
+        long id = user.getId();
+        int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & (USER_CACHE_SIZE - 1);
+        GHUser cached = canonicalUsers.get(slot);
+        if (cached != null && cached.getId() == id && Objects.equals(cached.getLogin(), user.getLogin())) {
+            return cached;
+        }
+        canonicalUsers.set(slot, user);
+        return user;
+    }
+
     /**
      * Creates a request to GitHub GraphQL API.
      *
@@ -1317,6 +1376,25 @@ public class GitHub {
         return client;
     }
 
+    /**
+     * Gets the label of the same id already known to this instance if it is equal to {@code label}, or else remembers
+     * {@code label}.
+     *
+     * @param label
+     *            the label
+     * @return an equal label, possibly the one passed in
+     */
+    GHLabel intern(GHLabel label) {
+        long id = label.getId();
+        int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & (LABEL_CACHE_SIZE - 1);
+        GHLabel cached = labels.get(slot);
+        if (cached != null && cached.getId() == id && cached.equals(label)) {
+            return cached;
+        }
+        labels.set(slot, label);
+        return label;
+    }
+
     /**
      * Intern.
      *
@@ -1335,4 +1413,25 @@ public class GitHub {
         }
         return user;
     }
+
+    /**
+     * Gets the cache of blob contents.
+     *
+     * @return the cache, or null if blobs are not cached
+     * @see GitHubBuilder#withBlobCache(GHBlobCache)
+     */
+    @CheckForNull
+    GHBlobCache getBlobCache() {
+        return client.getBlobCache();
+    }
+
+    /**
+     * Whether data objects are stored in a compact form.
+     *
+     * @return true if data objects are stored in a compact form
+     * @see GitHubBuilder#withCompactModel(boolean)
+     */
+    boolean isCompactModel() {
+        return client.isCompactModel();
+    }
 }
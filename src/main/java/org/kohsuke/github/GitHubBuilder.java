@@ -4,7 +4,9 @@ import org.apache.commons.io.IOUtils;
 import org.kohsuke.github.authorization.AuthorizationProvider;
 import org.kohsuke.github.authorization.ImmutableAuthorizationProvider;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorOptions;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.kohsuke.github.internal.DefaultGitHubConnector;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -157,8 +159,16 @@ public class GitHubBuilder implements Cloneable {
 
     private GitHubAbuseLimitHandler abuseLimitHandler = GitHubAbuseLimitHandler.WAIT;
 
+    private GHBlobCache blobCache;
+
+    private boolean compactModel;
+
     private GitHubConnector connector;
 
+    private GitHubConnectorOptions connectorOptions;
+
+    private GitHubInstrumentation instrumentation;
+
     private GitHubRateLimitChecker rateLimitChecker = new GitHubRateLimitChecker();
 
     private GitHubRateLimitHandler rateLimitHandler = GitHubRateLimitHandler.WAIT;
@@ -184,12 +194,19 @@ public class GitHubBuilder implements Cloneable {
      *             the io exception
      */
     public GitHub build() throws IOException {
+        GitHubConnector connector = this.connector;
+        if (connector == null && connectorOptions != null) {
+            connector = DefaultGitHubConnector.create(connectorOptions);
+        }
         return new GitHub(endpoint,
                 connector,
                 rateLimitHandler,
                 abuseLimitHandler,
                 rateLimitChecker,
-                authorizationProvider);
+                authorizationProvider,
+                compactModel,
+                instrumentation,
+                blobCache);
     }
 
     /**
@@ -250,6 +267,43 @@ public class GitHubBuilder implements Cloneable {
         return this;
     }
 
+    /**
+     * Caches the contents of blobs by their SHA, so blobs and files already read are answered without a request.
+     * <p>
+     * The same cache can be passed to several builders to share it between {@link GitHub} instances, for example
+     * instances authenticated as different installations of an app.
+     * </p>
+     *
+     * @param blobCache
+     *            the cache, or {@code null} to not cache blobs
+     * @return the GitHubBuilder
+     */
+    public GitHubBuilder withBlobCache(GHBlobCache blobCache) {
+        this.blobCache = blobCache;
+        return this;
+    }
+
+    /**
+     * Stores data objects in a compact form.
+     * <p>
+     * In the compact form, the {@link GHObject#getCreatedAt() created} and {@link GHObject#getUpdatedAt() updated}
+     * timestamps are parsed once while a response is read and kept as epoch milliseconds, {@link GHObject#getUrl()} is
+     * parsed once on first use, and the response headers are not kept, so
+     * {@link GHObject#getResponseHeaderFields()} returns {@code null}. Repeated values are also shared while
+     * responses are read: logins, names, colors and URLs through a small string cache, users nested in other objects
+     * by login, and labels nested in other objects by id. This uses less memory and makes the timestamp getters cheap,
+     * which helps when many objects are held and sorted or filtered by time.
+     * </p>
+     *
+     * @param enabled
+     *            whether to store data objects in a compact form
+     * @return the GitHubBuilder
+     */
+    public GitHubBuilder withCompactModel(boolean enabled) {
+        this.compactModel = enabled;
+        return this;
+    }
+
     /**
      * With connector GitHubBuilder.
      *
@@ -262,6 +316,24 @@ public class GitHubBuilder implements Cloneable {
         return this;
     }
 
+    /**
+     * Configures the transport settings of the default connector, such as HTTP version, timeouts and connection pool.
+     * <p>
+     * These options are ignored when a connector is set using {@link #withConnector(GitHubConnector)}. Each call to
+     * {@link #build()} creates a new connector, so {@link GitHub} instances built this way do not share connections.
+     * To share connections, create a connector with the options, for example
+     * {@code new HttpClientGitHubConnector(options)}, and pass it to {@link #withConnector(GitHubConnector)}.
+     * </p>
+     *
+     * @param connectorOptions
+     *            the connector options
+     * @return the GitHubBuilder
+     */
+    public GitHubBuilder withConnectorOptions(GitHubConnectorOptions connectorOptions) {
+        this.connectorOptions = connectorOptions;
+        return this;
+    }
+
     /**
      * With endpoint GitHubBuilder.
      *
@@ -277,6 +349,19 @@ public class GitHubBuilder implements Cloneable {
         return this;
     }
 
+    /**
+     * Reports the timings and outcome of every request to an {@link GitHubInstrumentation}, for example to publish
+     * them as metrics with {@link org.kohsuke.github.extras.jmx.JmxGitHubInstrumentation}.
+     *
+     * @param instrumentation
+     *            the instrumentation, or {@code null} to not instrument requests
+     * @return the GitHubBuilder
+     */
+    public GitHubBuilder withInstrumentation(GitHubInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        return this;
+    }
+
     /**
      * With jwt token GitHubBuilder.
      *
@@ -380,4 +465,27 @@ public class GitHubBuilder implements Cloneable {
         this.rateLimitHandler = handler;
         return this;
     }
+
+    /**
+     * Paces search requests evenly across each {@link RateLimitTarget#SEARCH} rate limit window.
+     * <p>
+     * The search rate limit allows few requests per minute. When several threads search at once, requests are released
+     * one at a time, spread across the time left until the limit resets, so they neither exceed the limit nor arrive in
+     * bursts that trigger secondary rate limits. Any {@link RateLimitChecker} for {@link RateLimitTarget#SEARCH} is
+     * still called after each request is released.
+     * </p>
+     * <p>
+     * Every {@link GitHub} built afterwards by this builder shares the same schedule, as they are expected to use the
+     * same credentials.
+     * </p>
+     *
+     * @param enabled
+     *            whether to pace search requests
+     * @return the GitHubBuilder
+     */
+    public GitHubBuilder withSearchRequestScheduling(boolean enabled) {
+        this.rateLimitChecker = this.rateLimitChecker
+                .withSearchScheduler(enabled ? new SearchRequestScheduler() : null);
+        return this;
+    }
 }
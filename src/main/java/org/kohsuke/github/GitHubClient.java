@@ -11,6 +11,7 @@ import org.kohsuke.github.connector.GitHubConnector;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 import org.kohsuke.github.function.FunctionThrows;
+import org.kohsuke.github.internal.ContentEncodings;
 
 import java.io.*;
 import java.net.*;
@@ -118,6 +119,12 @@ class GitHubClient {
             .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
             .build();
 
+    /** Reads responses for the compact model, deduplicating repeated values. */
+    private static final ObjectMapper MAPPER_COMPACT = MAPPER.copy().registerModule(new CompactModelModule());
+
+    /** The metrics of the request being sent by this thread, if it is instrumented. */
+    private static final ThreadLocal<GitHubRequestMetrics.Recorder> sendRequestMetrics = new ThreadLocal<>();
+
     private static final ThreadLocal<String> sendRequestTraceId = new ThreadLocal<>();
 
     /** The Constant GITHUB_URL. */
@@ -251,7 +258,7 @@ class GitHubClient {
         }
     }
 
-    private static GitHubConnectorRequest prepareConnectorRequest(GitHubRequest request,
+    static GitHubConnectorRequest prepareConnectorRequest(GitHubRequest request,
             AuthorizationProvider authorizationProvider) throws IOException {
         GitHubRequest.Builder<?> builder = request.toBuilder();
         // if the authentication is needed but no credential is given, try it anyway (so that some calls
@@ -265,12 +272,12 @@ class GitHubClient {
         if (request.header("Accept") == null) {
             builder.setHeader("Accept", "application/vnd.github+json");
         }
-        builder.setHeader("Accept-Encoding", "gzip");
+        builder.setHeader("Accept-Encoding", ContentEncodings.ACCEPT_ENCODING);
 
         builder.setHeader("X-GitHub-Api-Version", "2022-11-28");
 
         if (request.hasBody()) {
-            if (request.body() != null) {
+            if (request.hasBodyContent()) {
                 builder.contentType(defaultString(request.contentType(), "application/x-www-form-urlencoded"));
             } else {
                 builder.contentType("application/json");
@@ -278,7 +285,7 @@ class GitHubClient {
                 for (GitHubRequest.Entry e : request.args()) {
                     json.put(e.key, e.value);
                 }
-                builder.with(new ByteArrayInputStream(getMappingObjectWriter().writeValueAsBytes(json)));
+                builder.withJson(json);
             }
 
         }
@@ -319,7 +326,7 @@ class GitHubClient {
     static ObjectReader getMappingObjectReader(@Nonnull GitHub root) {
         ObjectReader reader = getMappingObjectReader((GitHubConnectorResponse) null);
         ((InjectableValues.Std) reader.getInjectableValues()).addValue(GitHub.class, root);
-        return reader;
+        return root.isCompactModel() ? MAPPER_COMPACT.reader(reader.getInjectableValues()) : reader;
     }
 
     /**
@@ -352,7 +359,9 @@ class GitHubClient {
                 injected.putAll(((GitHubRequest) connectorResponse.request()).injectedMappingValues());
             }
         }
-        return MAPPER.reader(new InjectableValues.Std(injected));
+        Object root = injected.get(GitHub.class.getName());
+        ObjectMapper mapper = root instanceof GitHub && ((GitHub) root).isCompactModel() ? MAPPER_COMPACT : MAPPER;
+        return mapper.reader(new InjectableValues.Std(injected));
     }
 
     /**
@@ -365,6 +374,19 @@ class GitHubClient {
         return MAPPER.writer();
     }
 
+    /**
+     * Records reading a response body in the metrics of the request being sent by this thread, if it is instrumented.
+     *
+     * @param startNanos
+     *            when reading started
+     */
+    static void noteBodyRead(long startNanos) {
+        GitHubRequestMetrics.Recorder recorder = sendRequestMetrics.get();
+        if (recorder != null) {
+            recorder.bodyRead(startNanos);
+        }
+    }
+
     /**
      * Parses the instant.
      *
@@ -459,8 +481,16 @@ class GitHubClient {
 
     private final AuthorizationProvider authorizationProvider;
 
+    @CheckForNull
+    private final GHBlobCache blobCache;
+
+    private final boolean compactModel;
+
     private GitHubConnector connector;
 
+    @CheckForNull
+    private final GitHubInstrumentation instrumentation;
+
     @Nonnull
     private final AtomicReference<GHRateLimit> rateLimit = new AtomicReference<>(GHRateLimit.DEFAULT);
 
@@ -489,13 +519,22 @@ class GitHubClient {
      *            the rate limit checker
      * @param authorizationProvider
      *            the authorization provider
+     * @param compactModel
+     *            whether to store data objects in a compact form
+     * @param instrumentation
+     *            the instrumentation of requests, or null
+     * @param blobCache
+     *            the cache of blob contents, or null
      */
     GitHubClient(String apiUrl,
             GitHubConnector connector,
             GitHubRateLimitHandler rateLimitHandler,
             GitHubAbuseLimitHandler abuseLimitHandler,
             GitHubRateLimitChecker rateLimitChecker,
-            AuthorizationProvider authorizationProvider) {
+            AuthorizationProvider authorizationProvider,
+            boolean compactModel,
+            @CheckForNull GitHubInstrumentation instrumentation,
+            @CheckForNull GHBlobCache blobCache) {
 
         if (apiUrl.endsWith("/")) {
             apiUrl = apiUrl.substring(0, apiUrl.length() - 1); // normalize
@@ -513,6 +552,9 @@ class GitHubClient {
         this.rateLimitHandler = rateLimitHandler;
         this.abuseLimitHandler = abuseLimitHandler;
         this.rateLimitChecker = rateLimitChecker;
+        this.compactModel = compactModel;
+        this.instrumentation = instrumentation;
+        this.blobCache = blobCache;
     }
 
     /**
@@ -640,32 +682,33 @@ class GitHubClient {
                 Integer.getInteger(GitHubClient.class.getName() + ".retryCount", DEFAULT_CONNECTION_ERROR_RETRIES));
 
         int retries = retryCount;
-        sendRequestTraceId.set(Integer.toHexString(request.hashCode()));
-        GitHubConnectorRequest connectorRequest = prepareConnectorRequest(request, authorizationProvider);
-        do {
-            GitHubConnectorResponse connectorResponse = null;
+        String traceId = Integer.toHexString(request.hashCode());
+        sendRequestTraceId.set(traceId);
+        if (instrumentation == null) {
+            return sendRequest(request, handler, retries, null);
+        }
+
+        GitHubRequestMetrics.Recorder previous = sendRequestMetrics.get();
+        GitHubRequestMetrics.Recorder recorder = new GitHubRequestMetrics.Recorder(request, traceId);
+        sendRequestMetrics.set(recorder);
+        try {
+            instrumentation.requestStarted(request, traceId);
+        } catch (RuntimeException e) {
+            LOGGER.log(FINE, e, () -> String.format("(%s) Instrumentation failed", traceId));
+        }
+        try {
+            return sendRequest(request, handler, retries, recorder);
+        } catch (IOException e) {
+            recorder.failed(e);
+            throw e;
+        } finally {
+            sendRequestMetrics.set(previous);
             try {
-                logRequest(connectorRequest);
-                rateLimitChecker.checkRateLimit(this, request.rateLimitTarget());
-                connectorResponse = connector.send(connectorRequest);
-                logResponse(connectorResponse);
-                noteRateLimit(request.rateLimitTarget(), connectorResponse);
-                detectKnownErrors(connectorResponse, request, handler != null);
-                logResponseBody(connectorResponse);
-                return createResponse(connectorResponse, handler);
-            } catch (RetryRequestException e) {
-                // retry requested by requested by error handler (rate limit handler for example)
-                if (retries > 0 && e.connectorRequest != null) {
-                    connectorRequest = e.connectorRequest;
-                }
-            } catch (IOException e) {
-                throw interpretApiError(e, connectorRequest, connectorResponse);
-            } finally {
-                IOUtils.closeQuietly(connectorResponse);
+                instrumentation.requestCompleted(recorder.toMetrics());
+            } catch (RuntimeException e) {
+                LOGGER.log(FINE, e, () -> String.format("(%s) Instrumentation failed", traceId));
             }
-        } while (--retries >= 0);
-
-        throw new GHIOException("Ran out of retries for URL: " + request.url().toString());
+        }
     }
 
     /**
@@ -736,16 +779,30 @@ class GitHubClient {
 
     private void detectKnownErrors(GitHubConnectorResponse connectorResponse,
             GitHubRequest request,
-            boolean detectStatusCodeError) throws IOException {
+            boolean detectStatusCodeError,
+            @CheckForNull GitHubRequestMetrics.Recorder recorder) throws IOException {
         detectOTPRequired(connectorResponse);
         detectInvalidCached404Response(connectorResponse, request);
         detectExpiredToken(connectorResponse, request);
         detectRedirect(connectorResponse, request);
+        long start = System.nanoTime();
         if (rateLimitHandler.isError(connectorResponse)) {
-            rateLimitHandler.onError(connectorResponse);
+            try {
+                rateLimitHandler.onError(connectorResponse);
+            } finally {
+                if (recorder != null) {
+                    recorder.rateLimitWaited(start);
+                }
+            }
             throw new RetryRequestException();
         } else if (abuseLimitHandler.isError(connectorResponse)) {
-            abuseLimitHandler.onError(connectorResponse);
+            try {
+                abuseLimitHandler.onError(connectorResponse);
+            } finally {
+                if (recorder != null) {
+                    recorder.rateLimitWaited(start);
+                }
+            }
             throw new RetryRequestException();
         } else if (detectStatusCodeError
                 && GitHubConnectorResponseErrorHandler.STATUS_HTTP_BAD_REQUEST_OR_GREATER.isError(connectorResponse)) {
@@ -844,13 +901,28 @@ class GitHubClient {
         });
     }
 
+    private void logResponseSize(@CheckForNull final GitHubConnectorResponse response) {
+        if (response != null && response.bodyBytesRead() > 0) {
+            LOGGER.log(FINER,
+                    () -> String.format("(%s) GitHub API response body: %d bytes decoded from %d bytes of %s",
+                            sendRequestTraceId.get(),
+                            response.bodyBytesRead(),
+                            response.rawBodyBytesRead(),
+                            response.header("Content-Encoding")));
+        }
+    }
+
     private void noteRateLimit(@Nonnull RateLimitTarget rateLimitTarget,
-            @Nonnull GitHubConnectorResponse connectorResponse) {
+            @Nonnull GitHubConnectorResponse connectorResponse,
+            @CheckForNull GitHubRequestMetrics.Recorder recorder) {
         try {
             int limit = connectorResponse.parseInt("X-RateLimit-Limit");
             int remaining = connectorResponse.parseInt("X-RateLimit-Remaining");
             int reset = connectorResponse.parseInt("X-RateLimit-Reset");
             GHRateLimit.Record observed = new GHRateLimit.Record(limit, remaining, reset, connectorResponse);
+            if (recorder != null) {
+                recorder.rateLimit(observed);
+            }
             updateRateLimit(GHRateLimit.fromRecord(observed, rateLimitTarget));
         } catch (NumberFormatException e) {
             LOGGER.log(FINER,
@@ -894,6 +966,64 @@ class GitHubClient {
         return prepareConnectorRequest(requestBuilder.build(), provider);
     }
 
+    @Nonnull
+    private <T> GitHubResponse<T> sendRequest(GitHubRequest request,
+            @CheckForNull BodyHandler<T> handler,
+            int retries,
+            @CheckForNull GitHubRequestMetrics.Recorder recorder) throws IOException {
+        long start = System.nanoTime();
+        GitHubConnectorRequest connectorRequest = prepareConnectorRequest(request, authorizationProvider);
+        if (recorder != null) {
+            recorder.prepared(start);
+        }
+        do {
+            GitHubConnectorResponse connectorResponse = null;
+            try {
+                logRequest(connectorRequest);
+                start = System.nanoTime();
+                rateLimitChecker.checkRateLimit(this, request.rateLimitTarget());
+                if (recorder != null) {
+                    recorder.rateLimitWaited(start);
+                    recorder.sending();
+                    start = System.nanoTime();
+                }
+                connectorResponse = connector.send(connectorRequest);
+                if (recorder != null) {
+                    recorder.responseReceived(start, connectorResponse.statusCode());
+                }
+                logResponse(connectorResponse);
+                noteRateLimit(request.rateLimitTarget(), connectorResponse, recorder);
+                detectKnownErrors(connectorResponse, request, handler != null, recorder);
+                logResponseBody(connectorResponse);
+                if (recorder == null) {
+                    return createResponse(connectorResponse, handler);
+                }
+                start = System.nanoTime();
+                long bodyReadNanos = recorder.bodyReadNanos();
+                try {
+                    return createResponse(connectorResponse, handler);
+                } finally {
+                    recorder.handled(start, bodyReadNanos);
+                }
+            } catch (RetryRequestException e) {
+                // retry requested by requested by error handler (rate limit handler for example)
+                if (retries > 0 && e.connectorRequest != null) {
+                    connectorRequest = e.connectorRequest;
+                }
+            } catch (IOException e) {
+                throw interpretApiError(e, connectorRequest, connectorResponse);
+            } finally {
+                logResponseSize(connectorResponse);
+                IOUtils.closeQuietly(connectorResponse);
+                if (recorder != null && connectorResponse != null) {
+                    recorder.responseClosed(connectorResponse);
+                }
+            }
+        } while (--retries >= 0);
+
+        throw new GHIOException("Ran out of retries for URL: " + request.url().toString());
+    }
+
     /**
      * Update the Rate Limit with the latest info from response header.
      *
@@ -909,6 +1039,28 @@ class GitHubClient {
         return result;
     }
 
+    /**
+     * Creates a {@link GitHub} that shares the API URL, connector and rate limit handling of this client, but
+     * authenticates with different credentials.
+     *
+     * @param authorizationProvider
+     *            the credentials for the new instance
+     * @return the new instance
+     * @throws IOException
+     *             if the instance could not be created
+     */
+    GitHub createGitHub(AuthorizationProvider authorizationProvider) throws IOException {
+        return new GitHub(apiUrl,
+                connector,
+                rateLimitHandler,
+                abuseLimitHandler,
+                rateLimitChecker.forNewCredentials(),
+                authorizationProvider,
+                compactModel,
+                instrumentation,
+                blobCache);
+    }
+
     /**
      * Gets the encoded authorization.
      *
@@ -979,6 +1131,25 @@ class GitHubClient {
         return updateRateLimit(output);
     }
 
+    /**
+     * Gets the cache of blob contents.
+     *
+     * @return the cache, or null if blobs are not cached
+     */
+    @CheckForNull
+    GHBlobCache getBlobCache() {
+        return blobCache;
+    }
+
+    /**
+     * Whether data objects are stored in a compact form.
+     *
+     * @return true if data objects are stored in a compact form
+     */
+    boolean isCompactModel() {
+        return compactModel;
+    }
+
     /**
      * Returns the most recently observed rate limit data.
      *
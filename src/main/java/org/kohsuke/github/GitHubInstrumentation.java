@@ -0,0 +1,37 @@
+package org.kohsuke.github;
+
+/**
+ * Observes the requests a {@link GitHub} sends, for example to publish metrics or traces.
+ * <p>
+ * Set through {@link GitHubBuilder#withInstrumentation(GitHubInstrumentation)}. Both methods are called on the thread
+ * that sends the request, so they should return quickly. Exceptions they throw are logged and otherwise ignored.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe.
+ * </p>
+ *
+ * @see org.kohsuke.github.extras.jmx.JmxGitHubInstrumentation
+ */
+public interface GitHubInstrumentation {
+
+    /**
+     * Called when the {@link GitHubRequestMetrics} of a request are complete, after its response has been handled or
+     * it has failed. Requests that were retried or redirected are reported once.
+     *
+     * @param metrics
+     *            the metrics of the request
+     */
+    void requestCompleted(GitHubRequestMetrics metrics);
+
+    /**
+     * Called before a request is prepared and sent. A tracing implementation can open a span here and close it in
+     * {@link #requestCompleted(GitHubRequestMetrics)}, which is called on the same thread.
+     *
+     * @param request
+     *            the request
+     * @param traceId
+     *            the id used for this request in log messages
+     */
+    default void requestStarted(GitHubRequest request, String traceId) {
+    }
+}
@@ -37,6 +37,16 @@ abstract class GitHubInteractiveObject extends GitHubBridgeAdapterObject {
         this.root = root;
     }
 
+    /**
+     * Whether this object is stored in a compact form.
+     *
+     * @return true if the GitHub instance stores data objects in a compact form.
+     * @see GitHubBuilder#withCompactModel(boolean)
+     */
+    boolean isCompactModel() {
+        return root != null && root.isCompactModel();
+    }
+
     /**
      * Object is offline.
      *
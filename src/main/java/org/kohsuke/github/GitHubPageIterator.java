@@ -5,6 +5,7 @@ import java.net.URL;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 // TODO: Auto-generated Javadoc
@@ -51,6 +52,30 @@ class GitHubPageIterator<T> implements Iterator<T> {
 
         return new GitHubPageIterator<>(client, type, request);
     }
+
+    /**
+     * Finds the URL of the next page in the pagination "Link" header of a response.
+     *
+     * @param response
+     *            the response for a page
+     * @return the URL of the next page, or {@code null} if this is the last page
+     */
+    @CheckForNull
+    static String findNextUrl(GitHubResponse<?> response) {
+        String link = response.header("Link");
+        if (link != null) {
+            for (String token : link.split(", ")) {
+                if (token.endsWith("rel=\"next\"")) {
+                    // found the next page. This should look something like
+                    // <https://api.github.com/repos?page=3&per_page=100>; rel="next"
+                    int idx = token.indexOf('>');
+                    return token.substring(1, idx);
+                }
+            }
+        }
+        return null;
+    }
+
     private final GitHubClient client;
 
     /**
@@ -161,20 +186,8 @@ class GitHubPageIterator<T> implements Iterator<T> {
      * Locate the next page from the pagination "Link" tag.
      */
     private GitHubRequest findNextURL(GitHubRequest nextRequest, GitHubResponse<T> nextResponse) {
-        GitHubRequest result = null;
-        String link = nextResponse.header("Link");
-        if (link != null) {
-            for (String token : link.split(", ")) {
-                if (token.endsWith("rel=\"next\"")) {
-                    // found the next page. This should look something like
-                    // <https://api.github.com/repos?page=3&per_page=100>; rel="next"
-                    int idx = token.indexOf('>');
-                    result = nextRequest.toBuilder().setRawUrlPath(token.substring(1, idx)).build();
-                    break;
-                }
-            }
-        }
-        return result;
+        String url = findNextUrl(nextResponse);
+        return url == null ? null : nextRequest.toBuilder().setRawUrlPath(url).build();
     }
 
 }
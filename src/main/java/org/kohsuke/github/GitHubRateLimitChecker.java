@@ -5,6 +5,7 @@ import java.io.InterruptedIOException;
 import java.util.Objects;
 import java.util.logging.Logger;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 // TODO: Auto-generated Javadoc
@@ -46,6 +47,9 @@ class GitHubRateLimitChecker {
     @Nonnull
     private final RateLimitChecker search;
 
+    @CheckForNull
+    private final SearchRequestScheduler searchScheduler;
+
     /**
      * Instantiates a new git hub rate limit checker.
      */
@@ -69,10 +73,34 @@ class GitHubRateLimitChecker {
             @Nonnull RateLimitChecker search,
             @Nonnull RateLimitChecker graphql,
             @Nonnull RateLimitChecker integrationManifest) {
+        this(core, search, graphql, integrationManifest, null);
+    }
+
+    /**
+     * Instantiates a new git hub rate limit checker.
+     *
+     * @param core
+     *            the core
+     * @param search
+     *            the search
+     * @param graphql
+     *            the graphql
+     * @param integrationManifest
+     *            the integration manifest
+     * @param searchScheduler
+     *            the scheduler that paces search requests, or {@code null} to send them as soon as the search checker
+     *            allows
+     */
+    GitHubRateLimitChecker(@Nonnull RateLimitChecker core,
+            @Nonnull RateLimitChecker search,
+            @Nonnull RateLimitChecker graphql,
+            @Nonnull RateLimitChecker integrationManifest,
+            @CheckForNull SearchRequestScheduler searchScheduler) {
         this.core = Objects.requireNonNull(core);
         this.search = Objects.requireNonNull(search);
         this.graphql = Objects.requireNonNull(graphql);
         this.integrationManifest = Objects.requireNonNull(integrationManifest);
+        this.searchScheduler = searchScheduler;
     }
 
     /**
@@ -129,6 +157,10 @@ class GitHubRateLimitChecker {
      * If the {@link RateLimitChecker} for this the current request's urlPath is {@link RateLimitChecker#NONE} the rate
      * limit is not checked.
      * </p>
+     * <p>
+     * Search requests wait for a slot from the {@link SearchRequestScheduler}, if there is one, before the checker is
+     * called.
+     * </p>
      *
      * @param client
      *            the {@link GitHubClient} to check
@@ -138,6 +170,9 @@ class GitHubRateLimitChecker {
      *             if there is an I/O error
      */
     void checkRateLimit(GitHubClient client, @Nonnull RateLimitTarget rateLimitTarget) throws IOException {
+        if (rateLimitTarget == RateLimitTarget.SEARCH && searchScheduler != null) {
+            searchScheduler.acquire(client);
+        }
         RateLimitChecker guard = selectChecker(rateLimitTarget);
         if (guard == RateLimitChecker.NONE) {
             return;
@@ -166,6 +201,18 @@ class GitHubRateLimitChecker {
         }
     }
 
+    /**
+     * Constructs a new {@link GitHubRateLimitChecker} for a client that uses different credentials.
+     *
+     * Rate limits are tracked per set of credentials, so a search request scheduler, if there is one, is replaced by a
+     * new one.
+     *
+     * @return a new {@link GitHubRateLimitChecker}, or this one if it holds no per-credential state
+     */
+    GitHubRateLimitChecker forNewCredentials() {
+        return searchScheduler == null ? this : withSearchScheduler(new SearchRequestScheduler());
+    }
+
     /**
      * Constructs a new {@link GitHubRateLimitChecker} with a new checker for a particular target.
      *
@@ -182,6 +229,18 @@ class GitHubRateLimitChecker {
         return new GitHubRateLimitChecker(rateLimitTarget == RateLimitTarget.CORE ? checker : core,
                 rateLimitTarget == RateLimitTarget.SEARCH ? checker : search,
                 rateLimitTarget == RateLimitTarget.GRAPHQL ? checker : graphql,
-                rateLimitTarget == RateLimitTarget.INTEGRATION_MANIFEST ? checker : integrationManifest);
+                rateLimitTarget == RateLimitTarget.INTEGRATION_MANIFEST ? checker : integrationManifest,
+                searchScheduler);
+    }
+
+    /**
+     * Constructs a new {@link GitHubRateLimitChecker} with a different search request scheduler.
+     *
+     * @param searchScheduler
+     *            the scheduler that paces search requests, or {@code null} for none
+     * @return a new {@link GitHubRateLimitChecker}
+     */
+    GitHubRateLimitChecker withSearchScheduler(@CheckForNull SearchRequestScheduler searchScheduler) {
+        return new GitHubRateLimitChecker(core, search, graphql, integrationManifest, searchScheduler);
     }
 }
@@ -1,5 +1,6 @@
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.IOUtils;
@@ -7,16 +8,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -78,22 +85,43 @@ public class GitHubRequest implements GitHubConnectorRequest {
         private String apiUrl;
 
         @Nonnull
-        private final List<Entry> args;
+        private List<Entry> args;
+
+        /** Whether {@link #args} may be shared with a built request, and must be copied before it is changed. */
+        private boolean argsShared;
 
         private byte[] body;
 
+        private File bodyFile;
+
         private boolean forceBody;
 
         /**
-         * The header values for this request.
+         * The header values for this request. The lists of values are never changed, only replaced.
          */
         @Nonnull
-        private final Map<String, List<String>> headers;
+        private Map<String, List<String>> headers;
+
+        /** Whether {@link #headers} may be shared with a built request, and must be copied before it is changed. */
+        private boolean headersShared;
+
         /**
          * Injected local data map
          */
         @Nonnull
-        private final Map<String, Object> injectedMappingValues;
+        private Map<String, Object> injectedMappingValues;
+
+        /**
+         * Whether {@link #injectedMappingValues} may be shared with a built request, and must be copied before it is
+         * changed.
+         */
+        private boolean injectedMappingValuesShared;
+
+        /**
+         * A value written as JSON when the body is written.
+         */
+        @CheckForNull
+        private Object json;
 
         /**
          * Request method.
@@ -103,9 +131,18 @@ public class GitHubRequest implements GitHubConnectorRequest {
 
         @Nonnull
         private RateLimitTarget rateLimitTarget;
+
+        /** The URL of the request, if it is known and none of the values it is built from have changed. */
+        @CheckForNull
+        private URL url;
+
         @Nonnull
         private String urlPath;
 
+        /**
+         * Creates a builder from the values of a request. The collections of the request are shared until they are
+         * changed.
+         */
         private Builder(@Nonnull List<Entry> args,
                 @Nonnull Map<String, List<String>> headers,
                 @Nonnull Map<String, Object> injectedMappingValues,
@@ -114,20 +151,25 @@ public class GitHubRequest implements GitHubConnectorRequest {
                 @Nonnull String method,
                 @Nonnull RateLimitTarget rateLimitTarget,
                 @CheckForNull byte[] body,
-                boolean forceBody) {
-            this.args = new ArrayList<>(args);
-            TreeMap<String, List<String>> caseInsensitiveMap = new TreeMap<>(nullableCaseInsensitiveComparator);
-            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-                caseInsensitiveMap.put(entry.getKey(), new ArrayList<>(entry.getValue()));
-            }
-            this.headers = caseInsensitiveMap;
-            this.injectedMappingValues = new LinkedHashMap<>(injectedMappingValues);
+                @CheckForNull File bodyFile,
+                boolean forceBody,
+                @CheckForNull Object json,
+                @CheckForNull URL url) {
+            this.args = args;
+            this.headers = headers;
+            this.injectedMappingValues = injectedMappingValues;
+            this.argsShared = true;
+            this.headersShared = true;
+            this.injectedMappingValuesShared = true;
             this.apiUrl = apiUrl;
             this.urlPath = urlPath;
             this.method = method;
             this.rateLimitTarget = rateLimitTarget;
             this.body = body;
+            this.bodyFile = bodyFile;
             this.forceBody = forceBody;
+            this.json = json;
+            this.url = url;
         }
 
         /**
@@ -142,7 +184,13 @@ public class GitHubRequest implements GitHubConnectorRequest {
                     "GET",
                     RateLimitTarget.CORE,
                     null,
-                    false);
+                    null,
+                    false,
+                    null,
+                    null);
+            this.argsShared = false;
+            this.headersShared = false;
+            this.injectedMappingValuesShared = false;
         }
 
         /**
@@ -153,7 +201,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          *             wrapping a {@link MalformedURLException} if the GitHub API URL cannot be constructed
          */
         public GitHubRequest build() {
-            return new GitHubRequest(args,
+            GitHubRequest request = new GitHubRequest(args,
                     headers,
                     injectedMappingValues,
                     apiUrl,
@@ -161,7 +209,16 @@ public class GitHubRequest implements GitHubConnectorRequest {
                     method,
                     rateLimitTarget,
                     body,
-                    forceBody);
+                    bodyFile,
+                    forceBody,
+                    json,
+                    url);
+            // The request shares the collections of this builder, so later changes must copy them first
+            argsShared = true;
+            headersShared = true;
+            injectedMappingValuesShared = true;
+            url = request.url();
+            return request;
         }
 
         /**
@@ -185,6 +242,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          */
         public B inBody() {
             forceBody = true;
+            url = null;
             return (B) this;
         }
 
@@ -209,6 +267,10 @@ public class GitHubRequest implements GitHubConnectorRequest {
          * @return the request builder
          */
         public B injectMappingValue(@NonNull String name, Object value) {
+            if (injectedMappingValuesShared) {
+                injectedMappingValues = new LinkedHashMap<>(injectedMappingValues);
+                injectedMappingValuesShared = false;
+            }
             this.injectedMappingValues.put(name, value);
             return (B) this;
         }
@@ -222,6 +284,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          */
         public B method(@Nonnull String method) {
             this.method = method;
+            this.url = null;
             return (B) this;
         }
 
@@ -245,6 +308,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          * @return the request builder
          */
         public B remove(String key) {
+            modifiableArgs();
             for (int index = 0; index < args.size();) {
                 if (args.get(index).key.equals(key)) {
                     args.remove(index);
@@ -263,7 +327,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          * @return the request builder
          */
         public B removeHeader(String name) {
-            headers.remove(name);
+            modifiableHeaders().remove(name);
             return (B) this;
         }
 
@@ -294,9 +358,29 @@ public class GitHubRequest implements GitHubConnectorRequest {
          * @return the request builder
          */
         public B setHeader(String name, String value) {
-            List<String> field = new ArrayList<>();
-            field.add(value);
-            headers.put(name, field);
+            modifiableHeaders().put(name, Collections.singletonList(value));
+            return (B) this;
+        }
+
+        /**
+         * Sets the body of this request to the contents of a file.
+         * <p>
+         * The file is not read into memory. Connectors read it, or send it directly, each time the request is sent.
+         * </p>
+         *
+         * @param body
+         *            the file to send
+         * @return the request builder
+         * @throws IOException
+         *             if the file does not exist or is not a regular file
+         */
+        public B with(@Nonnull File body) throws IOException {
+            if (!body.isFile()) {
+                throw new FileNotFoundException(body.getPath());
+            }
+            this.body = null;
+            this.bodyFile = body;
+            this.json = null;
             return (B) this;
         }
 
@@ -311,6 +395,8 @@ public class GitHubRequest implements GitHubConnectorRequest {
          */
         public B with(@WillClose InputStream body) throws IOException {
             this.body = IOUtils.toByteArray(body);
+            this.bodyFile = null;
+            this.json = null;
             IOUtils.closeQuietly(body);
             return (B) this;
         }
@@ -382,7 +468,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          */
         public B with(String key, Object value) {
             if (value != null) {
-                args.add(new Entry(key, value));
+                modifiableArgs().add(new Entry(key, value));
             }
             return (B) this;
         }
@@ -459,6 +545,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          */
         public B withApiUrl(String url) {
             this.apiUrl = url;
+            this.url = null;
             return (B) this;
         }
 
@@ -476,7 +563,10 @@ public class GitHubRequest implements GitHubConnectorRequest {
             if (field == null) {
                 setHeader(name, value);
             } else {
-                field.add(value);
+                List<String> values = new ArrayList<>(field.size() + 1);
+                values.addAll(field);
+                values.add(value);
+                modifiableHeaders().put(name, Collections.unmodifiableList(values));
             }
             return (B) this;
         }
@@ -491,7 +581,7 @@ public class GitHubRequest implements GitHubConnectorRequest {
          * @return the request builder
          */
         public B withNullable(String key, Object value) {
-            args.add(new Entry(key, value));
+            modifiableArgs().add(new Entry(key, value));
             return (B) this;
         }
 
@@ -526,9 +616,29 @@ public class GitHubRequest implements GitHubConnectorRequest {
             tailUrlPath = StringUtils.prependIfMissing(tailUrlPath, "/");
 
             this.urlPath = urlPathEncode(tailUrlPath);
+            this.url = null;
             return (B) this;
         }
 
+        private List<Entry> modifiableArgs() {
+            if (argsShared) {
+                args = new ArrayList<>(args);
+                argsShared = false;
+            }
+            url = null;
+            return args;
+        }
+
+        private Map<String, List<String>> modifiableHeaders() {
+            if (headersShared) {
+                TreeMap<String, List<String>> caseInsensitiveMap = new TreeMap<>(nullableCaseInsensitiveComparator);
+                caseInsensitiveMap.putAll(headers);
+                headers = caseInsensitiveMap;
+                headersShared = false;
+            }
+            return headers;
+        }
+
         /**
          * NOT FOR PUBLIC USE. Do not make this method public.
          * <p>
@@ -549,12 +659,60 @@ public class GitHubRequest implements GitHubConnectorRequest {
                 throw new GHException("Raw URL must start with 'http'");
             }
             this.urlPath = rawUrlPath;
+            this.url = null;
+            return (B) this;
+        }
+
+        /**
+         * Sets a value to be written as JSON as the body of this request. The value is serialized each time the body
+         * is written, so it is never held in memory as bytes.
+         *
+         * @param json
+         *            the value to write, which must not be changed afterwards
+         * @return the request builder
+         */
+        B withJson(@Nonnull Object json) {
+            this.body = null;
+            this.bodyFile = null;
+            this.json = json;
             return (B) this;
         }
     }
     private static final List<String> METHODS_WITHOUT_BODY = asList("GET", "DELETE");
+    private static final Class<?> UNMODIFIABLE_LIST = Collections.unmodifiableList(new ArrayList<>()).getClass();
+    private static final Class<?> UNMODIFIABLE_MAP = Collections.unmodifiableMap(new HashMap<>()).getClass();
+
+    /**
+     * Recently built URLs, indexed by the hash of their string. Clients call the same endpoints over and over, and
+     * parsing and validating the URL is the most expensive part of building a request.
+     */
+    private static final AtomicReferenceArray<Map.Entry<String, URL>> URL_CACHE = new AtomicReferenceArray<>(256);
+
     private static final Comparator<String> nullableCaseInsensitiveComparator = Comparator
             .nullsFirst(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * URL encodes a query parameter name or value. Most of them, like numbers, states and sort orders, do not need to
+     * be encoded and are returned as they are.
+     */
+    private static String encode(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '.'
+                    || c == '_' || c == '*')) {
+                return URLEncoder.encode(value, StandardCharsets.UTF_8);
+            }
+        }
+        return value;
+    }
+
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list.getClass() == UNMODIFIABLE_LIST ? list : Collections.unmodifiableList(list);
+    }
+
+    private static <K, V> Map<K, V> unmodifiable(Map<K, V> map) {
+        return map.getClass() == UNMODIFIABLE_MAP ? map : Collections.unmodifiableMap(map);
+    }
     /**
      * Encode the path to url safe string.
      *
@@ -589,7 +747,15 @@ public class GitHubRequest implements GitHubConnectorRequest {
                 // backward compatibility
                 apiUrl = GitHubClient.GITHUB_URL;
             }
-            return new URI(apiUrl + tailApiUrl).toURL();
+            String spec = apiUrl + tailApiUrl;
+            int index = spec.hashCode() & (URL_CACHE.length() - 1);
+            Map.Entry<String, URL> cached = URL_CACHE.get(index);
+            if (cached != null && cached.getKey().equals(spec)) {
+                return cached.getValue();
+            }
+            URL url = new URI(spec).toURL();
+            URL_CACHE.set(index, new AbstractMap.SimpleImmutableEntry<>(spec, url));
+            return url;
         } catch (Exception e) {
             // The data going into constructing this URL should be controlled by the GitHub API framework,
             // so a malformed URL here is a framework runtime error.
@@ -623,12 +789,17 @@ public class GitHubRequest implements GitHubConnectorRequest {
     private final List<Entry> args;
     private final byte[] body;
 
+    private final File bodyFile;
+
     private final boolean forceBody;
 
     private final Map<String, List<String>> headers;
 
     private final Map<String, Object> injectedMappingValues;
 
+    @CheckForNull
+    private final Object json;
+
     private final String method;
 
     private final RateLimitTarget rateLimitTarget;
@@ -646,22 +817,23 @@ public class GitHubRequest implements GitHubConnectorRequest {
             @Nonnull String method,
             @Nonnull RateLimitTarget rateLimitTarget,
             @CheckForNull byte[] body,
-            boolean forceBody) {
-        this.args = Collections.unmodifiableList(new ArrayList<>(args));
-        TreeMap<String, List<String>> caseInsensitiveMap = new TreeMap<>(nullableCaseInsensitiveComparator);
-        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-            caseInsensitiveMap.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
-        }
-        this.headers = Collections.unmodifiableMap(caseInsensitiveMap);
-        this.injectedMappingValues = Collections.unmodifiableMap(new LinkedHashMap<>(injectedMappingValues));
+            @CheckForNull File bodyFile,
+            boolean forceBody,
+            @CheckForNull Object json,
+            @CheckForNull URL url) {
+        // The builder copies its collections before changing them again, so they can be shared without copying
+        this.args = unmodifiable(args);
+        this.headers = unmodifiable(headers);
+        this.injectedMappingValues = unmodifiable(injectedMappingValues);
         this.apiUrl = apiUrl;
         this.urlPath = urlPath;
         this.method = method;
         this.rateLimitTarget = rateLimitTarget;
         this.body = body;
+        this.bodyFile = bodyFile;
         this.forceBody = forceBody;
-        String tailApiUrl = buildTailApiUrl();
-        url = getApiURL(apiUrl, tailApiUrl);
+        this.json = json;
+        this.url = url != null ? url : getApiURL(apiUrl, buildTailApiUrl());
     }
 
     /**
@@ -706,9 +878,47 @@ public class GitHubRequest implements GitHubConnectorRequest {
     @Override
     @CheckForNull
     public InputStream body() {
+        if (bodyFile != null) {
+            try {
+                return new FileInputStream(bodyFile);
+            } catch (FileNotFoundException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (json != null) {
+            try {
+                return new ByteArrayInputStream(GitHubClient.getMappingObjectWriter().writeValueAsBytes(json));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         return body != null ? new ByteArrayInputStream(body) : null;
     }
 
+    /**
+     * The file to be sent as the body of this request, if the body was set from a {@link File}.
+     *
+     * @return the file, or {@code null} if the body is not read from a file.
+     */
+    @Override
+    @CheckForNull
+    public File bodyFile() {
+        return bodyFile;
+    }
+
+    /**
+     * The length of the body of this request in bytes.
+     *
+     * @return the length of {@link #body()}, or {@code -1} if there is no body or the body is written as JSON.
+     */
+    @Override
+    public long bodyLength() {
+        if (bodyFile != null) {
+            return bodyFile.length();
+        }
+        return body != null ? body.length : -1;
+    }
+
     /**
      * The content type to be sent by this request.
      *
@@ -799,31 +1009,58 @@ public class GitHubRequest implements GitHubConnectorRequest {
         return urlPath;
     }
 
+    /**
+     * Writes the body of this request. A JSON body is serialized straight into the stream.
+     *
+     * @param output
+     *            the stream to write the body to. It is not closed.
+     * @throws IOException
+     *             if the body could not be written
+     */
+    @Override
+    public void writeBody(@Nonnull OutputStream output) throws IOException {
+        if (json != null) {
+            GitHubClient.getMappingObjectWriter()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(output, json);
+        } else if (body != null) {
+            output.write(body);
+        } else if (bodyFile != null) {
+            Files.copy(bodyFile.toPath(), output);
+        }
+    }
+
     private String buildTailApiUrl() {
         String tailApiUrl = urlPath;
         if (!hasBody() && !args.isEmpty() && tailApiUrl.startsWith("/")) {
-            try {
-                StringBuilder argString = new StringBuilder();
-                boolean questionMarkFound = tailApiUrl.indexOf('?') != -1;
-                argString.append(questionMarkFound ? '&' : '?');
-
-                for (Iterator<Entry> it = args.listIterator(); it.hasNext();) {
-                    Entry arg = it.next();
-                    argString.append(URLEncoder.encode(arg.key, StandardCharsets.UTF_8.name()));
-                    argString.append('=');
-                    argString.append(URLEncoder.encode(arg.value.toString(), StandardCharsets.UTF_8.name()));
-                    if (it.hasNext()) {
-                        argString.append('&');
-                    }
+            StringBuilder argString = new StringBuilder(tailApiUrl.length() + 16 * args.size());
+            argString.append(tailApiUrl);
+            boolean questionMarkFound = tailApiUrl.indexOf('?') != -1;
+            argString.append(questionMarkFound ? '&' : '?');
+
+            for (int index = 0; index < args.size(); index++) {
+                Entry arg = args.get(index);
+                if (index > 0) {
+                    argString.append('&');
                 }
-                tailApiUrl += argString;
-            } catch (UnsupportedEncodingException e) {
-                throw new GHException("UTF-8 encoding required", e);
+                argString.append(encode(arg.key));
+                argString.append('=');
+                argString.append(encode(arg.value.toString()));
             }
+            tailApiUrl = argString.toString();
         }
         return tailApiUrl;
     }
 
+    /**
+     * Whether the body of this request was set, rather than being built from its arguments.
+     *
+     * @return true if the body was set
+     */
+    boolean hasBodyContent() {
+        return json != null || body != null || bodyFile != null;
+    }
+
     /**
      * Create a {@link Builder} from this request. Initial values of the builder will be the same as this
      * {@link GitHubRequest}.
@@ -839,7 +1076,10 @@ public class GitHubRequest implements GitHubConnectorRequest {
                 method,
                 rateLimitTarget,
                 body,
-                forceBody);
+                bodyFile,
+                forceBody,
+                json,
+                url);
     }
 
 }
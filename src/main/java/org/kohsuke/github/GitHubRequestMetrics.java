@@ -0,0 +1,380 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Timings and outcome of one request sent by a {@link GitHub}, reported to a {@link GitHubInstrumentation}.
+ * <p>
+ * When a request is retried or redirected, the timings, attempts and bytes cover every attempt, while the status code
+ * and rate limit are those of the last response.
+ * </p>
+ */
+public final class GitHubRequestMetrics {
+
+    /**
+     * Collects the metrics of a request while it is sent.
+     */
+    static final class Recorder {
+
+        private int attempts;
+
+        private long bodyReadNanos;
+
+        private long bytesReceived;
+
+        @CheckForNull
+        private IOException failure;
+
+        private long handlingNanos;
+
+        private long preparationNanos;
+
+        @CheckForNull
+        private GHRateLimit.Record rateLimit;
+
+        private long rateLimitWaitNanos;
+
+        private final GitHubRequest request;
+
+        private final long startNanos = System.nanoTime();
+
+        private int statusCode = -1;
+
+        private long timeToFirstByteNanos;
+
+        private final String traceId;
+
+        Recorder(GitHubRequest request, String traceId) {
+            this.request = request;
+            this.traceId = traceId;
+        }
+
+        /**
+         * Records reading a response body.
+         *
+         * @param startNanos
+         *            when reading started
+         */
+        void bodyRead(long startNanos) {
+            bodyReadNanos += System.nanoTime() - startNanos;
+        }
+
+        /**
+         * Records a failure of the request.
+         *
+         * @param failure
+         *            the failure
+         */
+        void failed(IOException failure) {
+            this.failure = failure;
+        }
+
+        /**
+         * Records handling the body of a response, which reads and usually deserializes it.
+         *
+         * @param startNanos
+         *            when handling started
+         * @param bodyReadNanosBefore
+         *            the body read time recorded before handling started
+         */
+        void handled(long startNanos, long bodyReadNanosBefore) {
+            long nanos = System.nanoTime() - startNanos;
+            long readNanos = bodyReadNanos - bodyReadNanosBefore;
+            if (readNanos == 0) {
+                // The handler read the body stream itself
+                bodyReadNanos += nanos;
+            } else {
+                handlingNanos += Math.max(0, nanos - readNanos);
+            }
+        }
+
+        /**
+         * Records preparing the request.
+         *
+         * @param startNanos
+         *            when preparing started
+         */
+        void prepared(long startNanos) {
+            preparationNanos += System.nanoTime() - startNanos;
+        }
+
+        /**
+         * Records waiting for the rate limit.
+         *
+         * @param startNanos
+         *            when waiting started
+         */
+        void rateLimitWaited(long startNanos) {
+            rateLimitWaitNanos += System.nanoTime() - startNanos;
+        }
+
+        /**
+         * Records the rate limit reported by a response.
+         *
+         * @param rateLimit
+         *            the rate limit
+         */
+        void rateLimit(GHRateLimit.Record rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        /**
+         * Records a response being closed, after it has been handled or has failed.
+         *
+         * @param response
+         *            the response
+         */
+        void responseClosed(GitHubConnectorResponse response) {
+            long raw = response.rawBodyBytesRead();
+            if (raw >= 0) {
+                bytesReceived += raw;
+            } else {
+                try {
+                    bytesReceived += Math.max(0, response.parseInt("Content-Length"));
+                } catch (NumberFormatException e) {
+                    // Not reported, for example for chunked responses
+                }
+            }
+        }
+
+        /**
+         * Records the headers of a response being received.
+         *
+         * @param startNanos
+         *            when the request was sent
+         * @param statusCode
+         *            the status code of the response
+         */
+        void responseReceived(long startNanos, int statusCode) {
+            timeToFirstByteNanos += System.nanoTime() - startNanos;
+            this.statusCode = statusCode;
+        }
+
+        /**
+         * Records a request being sent to the connector.
+         */
+        void sending() {
+            attempts++;
+        }
+
+        /**
+         * Creates the metrics.
+         *
+         * @return the metrics
+         */
+        GitHubRequestMetrics toMetrics() {
+            return new GitHubRequestMetrics(this, System.nanoTime() - startNanos);
+        }
+
+        /**
+         * The body read time recorded so far.
+         *
+         * @return the body read time in nanoseconds
+         */
+        long bodyReadNanos() {
+            return bodyReadNanos;
+        }
+    }
+
+    private final int attempts;
+
+    private final Duration bodyRead;
+
+    private final long bytesReceived;
+
+    private final Duration deserialization;
+
+    @CheckForNull
+    private final IOException failure;
+
+    private final Duration preparation;
+
+    @CheckForNull
+    private final GHRateLimit.Record rateLimit;
+
+    private final Duration rateLimitWait;
+
+    private final GitHubRequest request;
+
+    private final int statusCode;
+
+    private final Duration timeToFirstByte;
+
+    private final Duration total;
+
+    private final String traceId;
+
+    private GitHubRequestMetrics(Recorder recorder, long totalNanos) {
+        this.request = recorder.request;
+        this.traceId = recorder.traceId;
+        this.attempts = recorder.attempts;
+        this.statusCode = recorder.statusCode;
+        this.bytesReceived = recorder.bytesReceived;
+        this.rateLimit = recorder.rateLimit;
+        this.failure = recorder.failure;
+        this.preparation = Duration.ofNanos(recorder.preparationNanos);
+        this.rateLimitWait = Duration.ofNanos(recorder.rateLimitWaitNanos);
+        this.timeToFirstByte = Duration.ofNanos(recorder.timeToFirstByteNanos);
+        this.bodyRead = Duration.ofNanos(recorder.bodyReadNanos);
+        this.deserialization = Duration.ofNanos(recorder.handlingNanos);
+        this.total = Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * The number of times the request was sent, including retries and redirects.
+     *
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Time spent reading response bodies.
+     *
+     * @return the body read time
+     */
+    @Nonnull
+    public Duration getBodyRead() {
+        return bodyRead;
+    }
+
+    /**
+     * The number of body bytes received, before any {@code Content-Encoding} was decoded. Uncompressed bodies are
+     * counted by their {@code Content-Length}.
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Time spent deserializing the response body, once it was read.
+     *
+     * @return the deserialization time
+     */
+    @Nonnull
+    public Duration getDeserialization() {
+        return deserialization;
+    }
+
+    /**
+     * The failure of the request, if it failed.
+     *
+     * @return the failure, or {@code null} if the request succeeded
+     */
+    @CheckForNull
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Time spent preparing the request, including getting its authorization, for example creating an app installation
+     * token.
+     *
+     * @return the preparation time
+     */
+    @Nonnull
+    public Duration getPreparation() {
+        return preparation;
+    }
+
+    /**
+     * The rate limit reported by the last response.
+     *
+     * @return the rate limit, or {@code null} if no response reported it
+     */
+    @CheckForNull
+    public GHRateLimit.Record getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * The rate limit the request counts against.
+     *
+     * @return the rate limit target
+     */
+    @Nonnull
+    public RateLimitTarget getRateLimitTarget() {
+        return request.rateLimitTarget();
+    }
+
+    /**
+     * Time spent waiting before sending the request because of rate limits, in the {@link RateLimitChecker}, the
+     * search request pacing, and the {@link GitHubRateLimitHandler} and {@link GitHubAbuseLimitHandler}.
+     *
+     * @return the rate limit wait time
+     */
+    @Nonnull
+    public Duration getRateLimitWait() {
+        return rateLimitWait;
+    }
+
+    /**
+     * The request.
+     *
+     * @return the request
+     */
+    @Nonnull
+    public GitHubRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * The status code of the last response.
+     *
+     * @return the status code, or {@code -1} if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Time from handing the request to the connector until its response headers were received. This includes waiting
+     * for a connection or a connector concurrency permit, connecting, sending the request and the server's processing
+     * time, as connectors do not report these separately.
+     *
+     * @return the time to first byte
+     */
+    @Nonnull
+    public Duration getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * Total time spent sending the request and handling its response.
+     *
+     * @return the total time
+     */
+    @Nonnull
+    public Duration getTotal() {
+        return total;
+    }
+
+    /**
+     * The id used for this request in log messages.
+     *
+     * @return the trace id
+     */
+    @Nonnull
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Whether the last response was {@code 304 Not Modified}, meaning a cached response was reused.
+     *
+     * @return true if the response was not modified
+     */
+    public boolean isNotModified() {
+        return statusCode == HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+}
@@ -46,9 +46,12 @@ class GitHubResponse<T> {
      */
     @Nonnull
     static String getBodyAsString(GitHubConnectorResponse connectorResponse) throws IOException {
+        long start = System.nanoTime();
         InputStream inputStream = connectorResponse.bodyStream();
         try (InputStreamReader r = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
             return IOUtils.toString(r);
+        } finally {
+            GitHubClient.noteBodyRead(start);
         }
     }
 
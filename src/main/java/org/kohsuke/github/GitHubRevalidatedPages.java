@@ -0,0 +1,119 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Reads a paged listing whose pages are kept with their {@code ETag}, so that reading it again revalidates each page
+ * with a conditional request.
+ * <p>
+ * Pages that have not changed are answered with {@code 304 Not Modified}, which does not count against the rate limit,
+ * and the page read before is returned as it is. Only pages that changed are downloaded and mapped again.
+ * </p>
+ */
+final class GitHubRevalidatedPages {
+
+    /**
+     * One page of a listing, with the contents mapped from its items.
+     *
+     * @param <C>
+     *            the type of the page contents
+     */
+    static final class Page<C> {
+
+        private final C contents;
+
+        @CheckForNull
+        private final String etag;
+
+        @CheckForNull
+        private final String next;
+
+        private final String url;
+
+        Page(String url, @CheckForNull String etag, @CheckForNull String next, C contents) {
+            this.url = url;
+            this.etag = etag;
+            this.next = next;
+            this.contents = contents;
+        }
+
+        /**
+         * Gets the contents mapped from the items of this page.
+         *
+         * @return the contents
+         */
+        C getContents() {
+            return contents;
+        }
+    }
+
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Reads every page of a listing, revalidating the pages of a previous read of the same listing.
+     *
+     * @param <T>
+     *            the type of the listed items
+     * @param <C>
+     *            the type of the page contents
+     * @param root
+     *            the GitHub instance to send requests with
+     * @param urlPath
+     *            the URL path of the listing
+     * @param type
+     *            the type of a page of items
+     * @param mapper
+     *            maps the items of a page that was downloaded to its contents
+     * @param previous
+     *            the pages of the previous read, or an empty list
+     * @return the pages, each either a newly downloaded page or the unchanged page from {@code previous}
+     * @throws IOException
+     *             if a page could not be read
+     */
+    static <T, C> List<Page<C>> load(GitHub root,
+            String urlPath,
+            Class<T[]> type,
+            Function<T[], C> mapper,
+            List<Page<C>> previous) throws IOException {
+        List<Page<C>> pages = new ArrayList<>();
+        GitHubRequest request = root.createRequest().withUrlPath(urlPath).with("per_page", PAGE_SIZE).build();
+        while (request != null) {
+            String url = request.url().toString();
+            Page<C> cached = pages.size() < previous.size() ? previous.get(pages.size()) : null;
+            if (cached != null && (cached.etag == null || !cached.url.equals(url))) {
+                cached = null;
+            }
+
+            GitHubRequest.Builder<?> builder = request.toBuilder();
+            if (cached != null) {
+                builder.setHeader("If-None-Match", cached.etag);
+            }
+            GitHubResponse<T[]> response = root.getClient()
+                    .sendRequest(builder.build(),
+                            connectorResponse -> GitHubResponse.parseBody(connectorResponse, type));
+
+            Page<C> page;
+            if (cached != null && response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                page = cached;
+            } else {
+                page = new Page<>(url,
+                        response.header("ETag"),
+                        GitHubPageIterator.findNextUrl(response),
+                        mapper.apply(Objects.requireNonNull(response.body())));
+            }
+            pages.add(page);
+            request = page.next == null ? null : request.toBuilder().setRawUrlPath(page.next).build();
+        }
+        return pages;
+    }
+
+    private GitHubRevalidatedPages() {
+    }
+}
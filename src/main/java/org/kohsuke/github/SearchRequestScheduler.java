@@ -0,0 +1,125 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Releases requests against the {@link RateLimitTarget#SEARCH} rate limit at an even pace.
+ * <p>
+ * The search rate limit is small and resets every minute, so a burst of concurrent searches can use up the whole
+ * window at once and trigger GitHub's secondary rate limits. Instead of letting each request check the limit and sleep
+ * until it resets, each request reserves the next free slot in the current window. Slots are spread evenly across the
+ * time left until the {@code X-RateLimit-Reset} reported by the last response, so requests from any number of threads
+ * are released one after the other, in the order they arrived, without exceeding the window.
+ * </p>
+ * <p>
+ * Slots reserved by this client are counted immediately, before their responses report the remaining limit. When the
+ * server reports more requests used than this client reserved, for example because other clients share the same
+ * credentials, the server's count is used instead.
+ * </p>
+ *
+ * @see GitHubBuilder#withSearchRequestScheduling(boolean)
+ */
+class SearchRequestScheduler {
+
+    /** Search limit assumed before any response has reported the real one. */
+    private static final int DEFAULT_LIMIT = 30;
+
+    private static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+    private static final Logger LOGGER = Logger.getLogger(SearchRequestScheduler.class.getName());
+
+    /**
+     * Reset time is only accurate to the second, so the window is treated as lasting this much longer.
+     */
+    private static final long RESET_MARGIN_MILLIS = 1000;
+
+    /** Returned by {@link #reserve(GHRateLimit.Record, long)} when the current window has no slots left. */
+    static final long NO_SLOT = -1;
+
+    /** The earliest time the next slot can be released, in epoch milliseconds. */
+    private long nextRelease;
+
+    /** The number of slots reserved in the current window. */
+    private int reserved;
+
+    /** The end of the current window, in epoch milliseconds. */
+    private long windowEnd;
+
+    /**
+     * Instantiates a new search request scheduler.
+     */
+    SearchRequestScheduler() {
+    }
+
+    /**
+     * Waits until the next search request can be sent.
+     *
+     * @param client
+     *            the client that is about to send the request
+     * @throws IOException
+     *             if the rate limit could not be read, or the wait was interrupted
+     */
+    void acquire(GitHubClient client) throws IOException {
+        try {
+            while (true) {
+                GHRateLimit.Record record = client.rateLimit(RateLimitTarget.SEARCH)
+                        .getRecord(RateLimitTarget.SEARCH);
+                long now = System.currentTimeMillis();
+                long delay = reserve(record, now);
+                if (delay != NO_SLOT) {
+                    Thread.sleep(delay);
+                    return;
+                }
+                long untilReset = Math.max(windowEnd() - now, 1);
+                LOGGER.log(Level.INFO,
+                        () -> String.format("GitHub API - Search quota used up. Waiting %d ms for it to reset.",
+                                untilReset));
+                Thread.sleep(untilReset);
+            }
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        }
+    }
+
+    /**
+     * Reserves the next free slot in the current window.
+     *
+     * @param record
+     *            the latest search rate limit record
+     * @param now
+     *            the current time in epoch milliseconds
+     * @return the milliseconds to wait until the reserved slot, or {@link #NO_SLOT} if there are no slots left before
+     *         the window ends
+     */
+    synchronized long reserve(GHRateLimit.Record record, long now) {
+        boolean known = !(record instanceof GHRateLimit.UnknownLimitRecord);
+        long reset = known ? record.getResetInstant().toEpochMilli() + RESET_MARGIN_MILLIS : 0;
+        if (reset > windowEnd) {
+            windowEnd = reset;
+            reserved = 0;
+        }
+        if (now >= windowEnd) {
+            // No response has reported the current window yet
+            windowEnd = now + DEFAULT_WINDOW_MILLIS;
+            reserved = 0;
+        }
+
+        int limit = known ? record.getLimit() : DEFAULT_LIMIT;
+        int used = Math.max(reserved, known && reset == windowEnd ? limit - record.getRemaining() : 0);
+        int available = limit - used;
+        long slot = Math.max(now, nextRelease);
+        if (available <= 0 || slot >= windowEnd) {
+            return NO_SLOT;
+        }
+        reserved = used + 1;
+        nextRelease = slot + (windowEnd - slot) / available;
+        return slot - now;
+    }
+
+    private synchronized long windowEnd() {
+        return windowEnd;
+    }
+}
@@ -0,0 +1,286 @@
+package org.kohsuke.github.connector;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Transport settings applied by the built-in {@link GitHubConnector} implementations.
+ * <p>
+ * Instances are immutable. Each {@code with*} method returns a copy with one setting changed, starting from
+ * {@link #DEFAULT}, which leaves every setting at the default of the underlying HTTP client library. Pass the result to
+ * {@link org.kohsuke.github.GitHubBuilder#withConnectorOptions(GitHubConnectorOptions)}.
+ * </p>
+ * <p>
+ * Connection pools belong to a connector. To share one pool (and, with HTTP/2, one multiplexed connection) between
+ * several {@link org.kohsuke.github.GitHub} instances, create the connector once and pass the same instance to
+ * {@link org.kohsuke.github.GitHubBuilder#withConnector(GitHubConnector)} for each of them.
+ * </p>
+ */
+public final class GitHubConnectorOptions {
+
+    /**
+     * The HTTP protocol version to prefer.
+     */
+    public enum HttpVersion {
+
+        /** Only use HTTP/1.1. */
+        HTTP_1_1,
+
+        /** Prefer HTTP/2, falling back to HTTP/1.1 when the server does not support it. */
+        HTTP_2
+    }
+
+    /**
+     * Options that leave every setting at the default of the underlying HTTP client library.
+     */
+    public static final GitHubConnectorOptions DEFAULT = new GitHubConnectorOptions(null, null, null, null, 0, 0, null);
+
+    private static Duration requirePositive(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        return duration;
+    }
+
+    @CheckForNull
+    private final Duration connectTimeout;
+
+    @CheckForNull
+    private final Executor executor;
+
+    @CheckForNull
+    private final HttpVersion httpVersion;
+
+    @CheckForNull
+    private final Duration keepAlive;
+
+    private final int maxConcurrentRequests;
+
+    private final int maxIdleConnections;
+
+    @CheckForNull
+    private final Duration requestTimeout;
+
+    private GitHubConnectorOptions(@CheckForNull HttpVersion httpVersion,
+            @CheckForNull Duration connectTimeout,
+            @CheckForNull Duration requestTimeout,
+            @CheckForNull Duration keepAlive,
+            int maxIdleConnections,
+            int maxConcurrentRequests,
+            @CheckForNull Executor executor) {
+        this.httpVersion = httpVersion;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.keepAlive = keepAlive;
+        this.maxIdleConnections = maxIdleConnections;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.executor = executor;
+    }
+
+    /**
+     * The maximum time to wait while establishing a connection.
+     *
+     * @return the connect timeout, or {@code null} for the client default.
+     */
+    @CheckForNull
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * The executor used by the HTTP client for asynchronous and dependent tasks.
+     *
+     * @return the executor, or {@code null} for the client default.
+     */
+    @CheckForNull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * The preferred HTTP protocol version.
+     *
+     * @return the HTTP version, or {@code null} for the client default.
+     */
+    @CheckForNull
+    public HttpVersion getHttpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * How long idle connections are kept in the pool.
+     *
+     * @return the keep-alive duration, or {@code null} for the client default.
+     */
+    @CheckForNull
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * The maximum number of requests a connector will have in flight at once.
+     *
+     * @return the maximum number of concurrent requests, or {@code 0} for no limit.
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * The maximum number of idle connections kept in the pool.
+     *
+     * @return the pool size, or {@code 0} for the client default.
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * The maximum time to wait for a response once a request has been sent.
+     *
+     * @return the request timeout, or {@code null} for the client default.
+     */
+    @CheckForNull
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the connection pool size and how long idle connections are kept.
+     * <p>
+     * The {@link java.net.http.HttpClient} pool can only be configured for the whole JVM, using the
+     * {@code jdk.httpclient.connectionPoolSize} and {@code jdk.httpclient.keepalive.timeout} system properties, so this
+     * setting only affects OkHttp based connectors.
+     * </p>
+     *
+     * @param maxIdleConnections
+     *            the maximum number of idle connections to keep
+     * @param keepAlive
+     *            how long to keep an idle connection
+     * @return a copy of these options with the pool settings set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withConnectionPool(int maxIdleConnections, @Nonnull Duration keepAlive) {
+        if (maxIdleConnections <= 0) {
+            throw new IllegalArgumentException("maxIdleConnections must be greater than zero");
+        }
+        return new GitHubConnectorOptions(httpVersion,
+                connectTimeout,
+                requestTimeout,
+                requirePositive(keepAlive),
+                maxIdleConnections,
+                maxConcurrentRequests,
+                executor);
+    }
+
+    /**
+     * Sets the maximum time to wait while establishing a connection.
+     *
+     * @param connectTimeout
+     *            the connect timeout
+     * @return a copy of these options with the connect timeout set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withConnectTimeout(@Nonnull Duration connectTimeout) {
+        return new GitHubConnectorOptions(httpVersion,
+                requirePositive(connectTimeout),
+                requestTimeout,
+                keepAlive,
+                maxIdleConnections,
+                maxConcurrentRequests,
+                executor);
+    }
+
+    /**
+     * Sets the executor used by the HTTP client.
+     * <p>
+     * Only {@link java.net.http.HttpClient} based connectors use an executor; OkHttp based connectors send requests on
+     * the calling thread. On Java 21 or later, {@code Executors.newVirtualThreadPerTaskExecutor()} avoids tying up
+     * platform threads.
+     * </p>
+     *
+     * @param executor
+     *            the executor
+     * @return a copy of these options with the executor set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withExecutor(@Nonnull Executor executor) {
+        return new GitHubConnectorOptions(httpVersion,
+                connectTimeout,
+                requestTimeout,
+                keepAlive,
+                maxIdleConnections,
+                maxConcurrentRequests,
+                Objects.requireNonNull(executor));
+    }
+
+    /**
+     * Sets the preferred HTTP protocol version.
+     * <p>
+     * With {@link HttpVersion#HTTP_2}, concurrent requests to the same host are multiplexed over a single TLS
+     * connection.
+     * </p>
+     *
+     * @param httpVersion
+     *            the HTTP version
+     * @return a copy of these options with the HTTP version set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withHttpVersion(@Nonnull HttpVersion httpVersion) {
+        return new GitHubConnectorOptions(Objects.requireNonNull(httpVersion),
+                connectTimeout,
+                requestTimeout,
+                keepAlive,
+                maxIdleConnections,
+                maxConcurrentRequests,
+                executor);
+    }
+
+    /**
+     * Sets the maximum number of requests a connector will have in flight at once.
+     * <p>
+     * A request is in flight from the time it is sent until its response has been closed. Additional requests wait for
+     * a slot to become available.
+     * </p>
+     *
+     * @param maxConcurrentRequests
+     *            the maximum number of concurrent requests
+     * @return a copy of these options with the limit set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be greater than zero");
+        }
+        return new GitHubConnectorOptions(httpVersion,
+                connectTimeout,
+                requestTimeout,
+                keepAlive,
+                maxIdleConnections,
+                maxConcurrentRequests,
+                executor);
+    }
+
+    /**
+     * Sets the maximum time to wait for a response once a request has been sent.
+     *
+     * @param requestTimeout
+     *            the request timeout
+     * @return a copy of these options with the request timeout set
+     */
+    @Nonnull
+    public GitHubConnectorOptions withRequestTimeout(@Nonnull Duration requestTimeout) {
+        return new GitHubConnectorOptions(httpVersion,
+                connectTimeout,
+                requirePositive(requestTimeout),
+                keepAlive,
+                maxIdleConnections,
+                maxConcurrentRequests,
+                executor);
+    }
+
+}
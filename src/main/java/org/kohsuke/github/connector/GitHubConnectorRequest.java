@@ -1,6 +1,9 @@
 package org.kohsuke.github.connector;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +42,27 @@ public interface GitHubConnectorRequest {
     @CheckForNull
     InputStream body();
 
+    /**
+     * Gets the file holding the request body, if the body is read from a file.
+     *
+     * Connectors may send this file directly instead of reading {@link #body()}.
+     *
+     * @return the file holding the request body, or {@code null} if the body is not read from a file.
+     */
+    @CheckForNull
+    default File bodyFile() {
+        return null;
+    }
+
+    /**
+     * Gets the length of the request body in bytes, if known.
+     *
+     * @return the number of bytes in {@link #body()}, or {@code -1} if not known.
+     */
+    default long bodyLength() {
+        return -1;
+    }
+
     /**
      * Get the content type for the body of this request.
      *
@@ -81,4 +105,24 @@ public interface GitHubConnectorRequest {
      */
     @Nonnull
     URL url();
+
+    /**
+     * Writes the request body to a stream.
+     *
+     * Connectors should prefer this over {@link #body()}: some bodies, such as JSON, are produced as they are written
+     * and are not held in memory. This may be called more than once, for example when a request is retried.
+     *
+     * @param output
+     *            the stream to write the body to. It is not closed.
+     * @throws IOException
+     *             if the body could not be written
+     */
+    default void writeBody(@Nonnull OutputStream output) throws IOException {
+        InputStream body = body();
+        if (body != null) {
+            try (InputStream input = body) {
+                input.transferTo(output);
+            }
+        }
+    }
 }
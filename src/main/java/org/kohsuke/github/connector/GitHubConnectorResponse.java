@@ -2,9 +2,11 @@ package org.kohsuke.github.connector;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.IOUtils;
+import org.kohsuke.github.internal.ContentEncodings;
 
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -13,7 +15,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.zip.GZIPInputStream;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -61,16 +62,55 @@ public abstract class GitHubConnectorResponse implements Closeable {
         }
     }
 
+    /**
+     * Counts the bytes read through a stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
     private static final Comparator<String> nullableCaseInsensitiveComparator = Comparator
             .nullsFirst(String.CASE_INSENSITIVE_ORDER);
 
     private byte[] bodyBytes = null;
     private InputStream bodyStream = null;
     private boolean bodyStreamCalled = false;
+    private CountingInputStream decodedBodyCounter = null;
     @Nonnull
     private final Map<String, List<String>> headers;
     private boolean isBodyStreamRereadable;
     private boolean isClosed = false;
+    private CountingInputStream rawBodyCounter = null;
     @Nonnull
     private final GitHubConnectorRequest request;
 
@@ -112,6 +152,19 @@ public abstract class GitHubConnectorResponse implements Closeable {
         return headers;
     }
 
+    /**
+     * The number of bytes of an encoded response body read so far, after the {@code Content-Encoding} has been
+     * decoded.
+     *
+     * @return the number of decoded body bytes read, or {@code -1} if the body has no {@code Content-Encoding} or has
+     *         not been requested.
+     * @see #rawBodyBytesRead()
+     */
+    public long bodyBytesRead() {
+        CountingInputStream counter = decodedBodyCounter;
+        return counter != null ? counter.count : -1;
+    }
+
     /**
      * The response body as an {@link InputStream}.
      *
@@ -140,7 +193,17 @@ public abstract class GitHubConnectorResponse implements Closeable {
                     throw new IOException("Response body not rereadable");
                 }
             } else {
-                bodyStream = wrapStream(rawBodyStream());
+                InputStream rawStream = rawBodyStream();
+                if (rawStream != null && header("Content-Encoding") != null) {
+                    // Only encoded bodies are counted, as the stream is wrapped for decoding anyway
+                    rawBodyCounter = new CountingInputStream(rawStream);
+                    rawStream = rawBodyCounter;
+                }
+                bodyStream = wrapStream(rawStream);
+                if (rawBodyCounter != null && bodyStream != null) {
+                    decodedBodyCounter = new CountingInputStream(bodyStream);
+                    bodyStream = decodedBodyCounter;
+                }
                 bodyStreamCalled = true;
             }
 
@@ -224,6 +287,21 @@ public abstract class GitHubConnectorResponse implements Closeable {
         }
     }
 
+    /**
+     * The number of bytes of an encoded response body read so far, as received from the server before the
+     * {@code Content-Encoding} has been decoded.
+     * <p>
+     * Comparing this with {@link #bodyBytesRead()} gives the saving from compression.
+     * </p>
+     *
+     * @return the number of raw body bytes read, or {@code -1} if the body has no {@code Content-Encoding} or has not
+     *         been requested.
+     */
+    public long rawBodyBytesRead() {
+        CountingInputStream counter = rawBodyCounter;
+        return counter != null ? counter.count : -1;
+    }
+
     /**
      * Gets the {@link GitHubConnector} for this response.
      *
@@ -283,19 +361,17 @@ public abstract class GitHubConnectorResponse implements Closeable {
     /**
      * Handles wrapping the body stream if indicated by the "Content-Encoding" header.
      *
+     * Supports {@code gzip} and {@code deflate}, and {@code br} when a Brotli decoder is on the classpath.
+     *
      * @param stream
      *            the stream to possibly wrap
-     * @return an input stream potentially wrapped to decode gzip input
+     * @return an input stream potentially wrapped to decode compressed input
      * @throws IOException
      *             if an I/O Exception occurs.
+     * @throws UnsupportedOperationException
+     *             if the content encoding is not supported
      */
     protected InputStream wrapStream(InputStream stream) throws IOException {
-        String encoding = header("Content-Encoding");
-        if (encoding == null || stream == null)
-            return stream;
-        if (encoding.equals("gzip"))
-            return new GZIPInputStream(stream);
-
-        throw new UnsupportedOperationException("Unexpected Content-Encoding: " + encoding);
+        return ContentEncodings.decode(header("Content-Encoding"), stream);
     }
 }
@@ -1,11 +1,13 @@
 package org.kohsuke.github.extras;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.io.IOUtils;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorOptions;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
@@ -13,8 +15,10 @@ import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -27,6 +31,16 @@ import javax.annotation.Nonnull;
 @SuppressFBWarnings(value = { "CT_CONSTRUCTOR_THROW" }, justification = "Basic validation")
 public class HttpClientGitHubConnector implements GitHubConnector {
 
+    /**
+     * Collects a body of unknown length, and publishes it without copying it again.
+     */
+    private static class BodyBuffer extends ByteArrayOutputStream {
+
+        HttpRequest.BodyPublisher publisher() {
+            return HttpRequest.BodyPublishers.ofByteArray(buf, 0, count);
+        }
+    }
+
     /**
      * Initial response information when a response is initially received and before the body is processed.
      *
@@ -34,18 +48,32 @@ public class HttpClientGitHubConnector implements GitHubConnector {
      */
     private static class HttpClientGitHubConnectorResponse extends GitHubConnectorResponse {
 
+        @CheckForNull
+        private Semaphore permits;
+
         @Nonnull
         private final HttpResponse<InputStream> response;
 
         protected HttpClientGitHubConnectorResponse(@Nonnull GitHubConnectorRequest request,
-                @Nonnull HttpResponse<InputStream> response) {
+                @Nonnull HttpResponse<InputStream> response,
+                @CheckForNull Semaphore permits) {
             super(request, response.statusCode(), response.headers().map());
             this.response = response;
+            this.permits = permits;
         }
 
         @Override
         public void close() throws IOException {
-            super.close();
+            try {
+                super.close();
+            } finally {
+                synchronized (this) {
+                    if (permits != null) {
+                        permits.release();
+                        permits = null;
+                    }
+                }
+            }
         }
 
         @CheckForNull
@@ -55,8 +83,36 @@ public class HttpClientGitHubConnector implements GitHubConnector {
         }
     }
 
+    /**
+     * Streams the request body, sending files directly and buffering only bodies of unknown length.
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(GitHubConnectorRequest connectorRequest)
+            throws IOException {
+        File bodyFile = connectorRequest.bodyFile();
+        if (bodyFile != null) {
+            return HttpRequest.BodyPublishers.ofFile(bodyFile.toPath());
+        }
+        long length = connectorRequest.bodyLength();
+        if (length < 0) {
+            // The body is produced as it is written, such as JSON. HttpClient pulls the body rather than letting it be
+            // written, so it is written once into a buffer that is then sent with a Content-Length.
+            BodyBuffer buffer = new BodyBuffer();
+            connectorRequest.writeBody(buffer);
+            return buffer.publisher();
+        }
+        // Send a Content-Length header instead of using chunked transfer encoding
+        return HttpRequest.BodyPublishers
+                .fromPublisher(HttpRequest.BodyPublishers.ofInputStream(connectorRequest::body), length);
+    }
+
     private final HttpClient client;
 
+    @CheckForNull
+    private final Semaphore permits;
+
+    @CheckForNull
+    private final Duration requestTimeout;
+
     /**
      * Instantiates a new HttpClientGitHubConnector with a default HttpClient.
      */
@@ -71,7 +127,7 @@ public class HttpClientGitHubConnector implements GitHubConnector {
         // to a different host, which is similar to what Okhttp is doing:
         // https://github.com/square/okhttp/blob/f9dfd4e8cc070ca2875a67d8f7ad939d95e7e296/okhttp/src/main/kotlin/okhttp3/internal/http/RetryAndFollowUpInterceptor.kt#L313-L318
         // See also https://github.com/arduino/report-size-deltas/pull/83 for more context
-        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build());
+        this(GitHubConnectorOptions.DEFAULT);
     }
 
     /**
@@ -82,6 +138,35 @@ public class HttpClientGitHubConnector implements GitHubConnector {
      */
     public HttpClientGitHubConnector(HttpClient client) {
         this.client = client;
+        this.requestTimeout = null;
+        this.permits = null;
+    }
+
+    /**
+     * Instantiates a new HttpClientGitHubConnector with an HttpClient built from the given options.
+     *
+     * @param options
+     *            the transport settings to apply
+     */
+    public HttpClientGitHubConnector(@Nonnull GitHubConnectorOptions options) {
+        // See HttpClientGitHubConnector() for why redirects are never followed by the HttpClient itself.
+        HttpClient.Builder builder = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER);
+        if (options.getHttpVersion() == GitHubConnectorOptions.HttpVersion.HTTP_1_1) {
+            builder.version(HttpClient.Version.HTTP_1_1);
+        } else if (options.getHttpVersion() == GitHubConnectorOptions.HttpVersion.HTTP_2) {
+            builder.version(HttpClient.Version.HTTP_2);
+        }
+        if (options.getConnectTimeout() != null) {
+            builder.connectTimeout(options.getConnectTimeout());
+        }
+        if (options.getExecutor() != null) {
+            builder.executor(options.getExecutor());
+        }
+        this.client = builder.build();
+        this.requestTimeout = options.getRequestTimeout();
+        this.permits = options.getMaxConcurrentRequests() > 0
+                ? new Semaphore(options.getMaxConcurrentRequests(), true)
+                : null;
     }
 
     @Override
@@ -102,17 +187,30 @@ public class HttpClientGitHubConnector implements GitHubConnector {
 
         HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.noBody();
         if (connectorRequest.hasBody()) {
-            publisher = HttpRequest.BodyPublishers.ofByteArray(IOUtils.toByteArray(connectorRequest.body()));
+            publisher = bodyPublisher(connectorRequest);
         }
         builder.method(connectorRequest.method(), publisher);
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
 
         HttpRequest request = builder.build();
 
+        boolean acquired = false;
         try {
+            if (permits != null) {
+                permits.acquire();
+                acquired = true;
+            }
             HttpResponse<InputStream> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-            return new HttpClientGitHubConnectorResponse(connectorRequest, httpResponse);
+            acquired = false;
+            return new HttpClientGitHubConnectorResponse(connectorRequest, httpResponse, permits);
         } catch (InterruptedException e) {
             throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
         }
     }
 }
@@ -0,0 +1,33 @@
+package org.kohsuke.github.extras.authorization;
+
+import java.time.Instant;
+
+/**
+ * Signs the JWTs that {@link JWTTokenProvider} uses to authenticate as a GitHub App.
+ * <p>
+ * The default signer builds an RS256 token with the jjwt library. A custom signer can keep a cached
+ * {@link java.security.Signature}, delegate to a hardware security module or key management service, or use another
+ * signing library. GitHub requires app tokens to be signed with RS256.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe.
+ * </p>
+ *
+ * @see JWTTokenProvider#JWTTokenProvider(String, JWTSigner)
+ */
+@FunctionalInterface
+public interface JWTSigner {
+
+    /**
+     * Creates a signed JWT.
+     *
+     * @param issuedAt
+     *            the issued at ({@code iat}) claim
+     * @param expiration
+     *            the expiration ({@code exp}) claim
+     * @param issuer
+     *            the issuer ({@code iss}) claim, the application id
+     * @return the JWT in compact serialization
+     */
+    String sign(Instant issuedAt, Instant expiration, String issuer);
+}
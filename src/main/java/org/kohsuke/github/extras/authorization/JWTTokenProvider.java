@@ -16,17 +16,50 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 /**
  * A authorization provider that gives valid JWT tokens. These tokens are then used to create a time-based token to
- * authenticate as an application. This token provider does not provide any kind of caching, and will always request a
- * new token to the API.
+ * authenticate as an application.
+ * <p>
+ * The current token is reused until shortly before it expires, and is read without locking. During the last minute of
+ * its use, its replacement is signed in the background, so requests do not wait for signing. If a token is used after
+ * it is no longer valid, for example after the provider has been idle, a new one is signed on the calling thread.
+ * </p>
  */
 @SuppressFBWarnings(value = { "CT_CONSTRUCTOR_THROW" }, justification = "TODO")
 public class JWTTokenProvider implements AuthorizationProvider {
 
+    /**
+     * A signed token and the times it should be replaced at.
+     */
+    private static final class Token {
+
+        private final String authorization;
+
+        /** When to start signing the next token in the background. */
+        private final Instant presignAt;
+
+        private final Instant validUntil;
+
+        Token(String authorization, Instant validUntil, Instant presignAt) {
+            this.authorization = authorization;
+            this.validUntil = validUntil;
+            this.presignAt = presignAt;
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(JWTTokenProvider.class.getName());
+
     /**
      * Convert a PKCS#8 formatted private key in string format into a java PrivateKey
      *
@@ -64,12 +97,14 @@ public class JWTTokenProvider implements AuthorizationProvider {
      */
     private final String applicationId;
 
-    private String authorization;
+    private volatile Executor executor = ForkJoinPool.commonPool();
 
-    private final PrivateKey privateKey;
+    private final AtomicBoolean presigning = new AtomicBoolean();
 
-    @Nonnull
-    private Instant validUntil = Instant.MIN;
+    private final JWTSigner signer;
+
+    @CheckForNull
+    private volatile Token token;
 
     /**
      * Create a JWTTokenProvider
@@ -112,8 +147,21 @@ public class JWTTokenProvider implements AuthorizationProvider {
      *            the private key
      */
     public JWTTokenProvider(String applicationId, PrivateKey privateKey) {
-        this.privateKey = privateKey;
+        this(applicationId,
+                (issuedAt, expiration, issuer) -> JwtBuilderUtil.buildJwt(issuedAt, expiration, issuer, privateKey));
+    }
+
+    /**
+     * Create a JWTTokenProvider that signs its tokens with a custom signer
+     *
+     * @param applicationId
+     *            the application id
+     * @param signer
+     *            the signer
+     */
+    public JWTTokenProvider(String applicationId, @Nonnull JWTSigner signer) {
         this.applicationId = applicationId;
+        this.signer = Objects.requireNonNull(signer);
     }
 
     /**
@@ -133,17 +181,31 @@ public class JWTTokenProvider implements AuthorizationProvider {
     /** {@inheritDoc} */
     @Override
     public String getEncodedAuthorization() throws IOException {
-        synchronized (this) {
-            if (isNotValid()) {
-                String token = refreshJWT();
-                authorization = String.format("Bearer %s", token);;
-            }
-            return authorization;
+        Token current = token;
+        Instant now = now();
+        if (current == null || now.isAfter(current.validUntil)) {
+            current = refresh(current);
+        } else if (now.isAfter(current.presignAt) && presigning.compareAndSet(false, true)) {
+            presign(current);
         }
+        return current.authorization;
+    }
+
+    /**
+     * Sets the executor that the next token is signed on before the current one needs replacing. Defaults to the
+     * common fork join pool.
+     *
+     * @param executor
+     *            the executor
+     * @return this provider
+     */
+    public JWTTokenProvider withExecutor(@Nonnull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
     }
 
-    private String refreshJWT() {
-        Instant now = Instant.now();
+    private Token createToken() {
+        Instant now = now();
 
         // Max token expiration is 10 minutes for GitHub
         // We use a smaller window since we likely will not need more than a few seconds
@@ -153,9 +215,42 @@ public class JWTTokenProvider implements AuthorizationProvider {
         Instant issuedAt = getIssuedAt(now);
 
         // Token will refresh 2 minutes before it expires
-        validUntil = expiration.minus(Duration.ofMinutes(2));
+        Instant validUntil = expiration.minus(Duration.ofMinutes(2));
+
+        String jwt = signer.sign(issuedAt, expiration, applicationId);
+        return new Token(String.format("Bearer %s", jwt), validUntil, validUntil.minus(Duration.ofMinutes(1)));
+    }
 
-        return JwtBuilderUtil.buildJwt(issuedAt, expiration, applicationId, privateKey);
+    private void presign(Token current) {
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(current);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to sign the next JWT, it will be signed when needed", e);
+                } finally {
+                    presigning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            presigning.set(false);
+        }
+    }
+
+    /**
+     * Replaces the token, unless another thread already has.
+     *
+     * @param expected
+     *            the token the caller found to need replacing
+     * @return the new token
+     */
+    private synchronized Token refresh(@CheckForNull Token expected) {
+        Token current = token;
+        if (current == expected) {
+            current = createToken();
+            token = current;
+        }
+        return current;
     }
 
     Instant getIssuedAt(Instant now) {
@@ -175,6 +270,18 @@ public class JWTTokenProvider implements AuthorizationProvider {
      * @return false if the token has been refreshed within the required window, otherwise true
      */
     boolean isNotValid() {
-        return Instant.now().isAfter(validUntil);
+        Token current = token;
+        return current == null || now().isAfter(current.validUntil);
+    }
+
+    /**
+     * Gets the current time.
+     * <p>
+     * Made internal for testing
+     *
+     * @return the current time
+     */
+    Instant now() {
+        return Instant.now();
     }
 }
@@ -0,0 +1,104 @@
+package org.kohsuke.github.extras.jmx;
+
+/**
+ * A snapshot of the latencies of the requests to one endpoint, published as a composite value by
+ * {@link GitHubRequestStatisticsMXBean#getEndpointLatencies()}.
+ * <p>
+ * Percentiles are the highest value of the histogram bucket they fall in, and are within 12.5% of the exact value.
+ * </p>
+ */
+public final class EndpointLatency {
+
+    private final long count;
+
+    private final double maxMillis;
+
+    private final double meanMillis;
+
+    private final double p50Millis;
+
+    private final double p90Millis;
+
+    private final double p999Millis;
+
+    private final double p99Millis;
+
+    /**
+     * Creates a snapshot of a histogram.
+     *
+     * @param histogram
+     *            the histogram
+     */
+    EndpointLatency(LatencyHistogram histogram) {
+        this.count = histogram.count();
+        this.meanMillis = histogram.meanMillis();
+        this.maxMillis = histogram.maxMillis();
+        this.p50Millis = histogram.percentileMillis(50);
+        this.p90Millis = histogram.percentileMillis(90);
+        this.p99Millis = histogram.percentileMillis(99);
+        this.p999Millis = histogram.percentileMillis(99.9);
+    }
+
+    /**
+     * The number of requests.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The highest latency.
+     *
+     * @return the maximum in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * The mean latency.
+     *
+     * @return the mean in milliseconds
+     */
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    /**
+     * The median latency.
+     *
+     * @return the 50th percentile in milliseconds
+     */
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    /**
+     * The 90th percentile latency.
+     *
+     * @return the 90th percentile in milliseconds
+     */
+    public double getP90Millis() {
+        return p90Millis;
+    }
+
+    /**
+     * The 99.9th percentile latency.
+     *
+     * @return the 99.9th percentile in milliseconds
+     */
+    public double getP999Millis() {
+        return p999Millis;
+    }
+
+    /**
+     * The 99th percentile latency.
+     *
+     * @return the 99th percentile in milliseconds
+     */
+    public double getP99Millis() {
+        return p99Millis;
+    }
+}
@@ -0,0 +1,129 @@
+package org.kohsuke.github.extras.jmx;
+
+import org.kohsuke.github.GitHubRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes request paths to the endpoint templates of the GitHub REST API documentation, such as
+ * {@code /repos/{owner}/{repo}/pulls/{id}}, so that requests for different repositories, users or numbers are counted
+ * together.
+ * <p>
+ * Segments that follow a collection with named items, like {@code repos}, {@code users} or {@code branches}, are
+ * replaced by a parameter. Numeric segments become {@code {id}} and commit SHAs {@code {sha}}. Git refs and content
+ * paths, which can contain slashes, replace the rest of the path.
+ * </p>
+ */
+final class EndpointTemplates {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    /** Parameter names of the segments following a collection. A trailing {@code *} matches the rest of the path. */
+    private static final Map<String, String[]> PARAMETERS = new HashMap<>();
+
+    private static final Pattern SHA = Pattern.compile("[0-9a-f]{40}");
+
+    static {
+        parameters("blobs", "{sha}");
+        parameters("branches", "{branch}");
+        parameters("collaborators", "{username}");
+        parameters("commits", "{ref}");
+        parameters("compare", "{basehead}");
+        parameters("contents", "{path}*");
+        parameters("environments", "{environment_name}");
+        parameters("followers", "{username}");
+        parameters("following", "{username}");
+        parameters("gists", "{gist_id}");
+        parameters("labels", "{name}");
+        parameters("members", "{username}");
+        parameters("orgs", "{org}");
+        parameters("ref", "{ref}*");
+        parameters("refs", "{ref}*");
+        parameters("repos", "{owner}", "{repo}");
+        parameters("secrets", "{secret_name}");
+        parameters("statuses", "{sha}");
+        parameters("tags", "{tag}");
+        parameters("teams", "{team_slug}");
+        parameters("trees", "{sha}");
+        parameters("users", "{username}");
+        parameters("variables", "{name}");
+        parameters("workflows", "{workflow_id}");
+    }
+
+    private static void parameters(String collection, String... names) {
+        PARAMETERS.put(collection, names);
+    }
+
+    /**
+     * The path of a request relative to its API URL, without query.
+     */
+    private static String path(GitHubRequest request) {
+        String path = request.urlPath();
+        if (!path.startsWith("/")) {
+            // A full URL, such as the next page of a listing
+            String apiUrl = request.apiUrl();
+            if (path.startsWith(apiUrl)) {
+                path = path.substring(apiUrl.length());
+            } else {
+                path = request.url().getPath();
+            }
+        }
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    /**
+     * The endpoint template of a request, prefixed with its method.
+     *
+     * @param request
+     *            the request
+     * @return the endpoint, such as {@code GET /repos/{owner}/{repo}}
+     */
+    static String endpoint(GitHubRequest request) {
+        return request.method() + " " + template(path(request));
+    }
+
+    /**
+     * Normalizes a path to its endpoint template.
+     *
+     * @param path
+     *            the path, without query
+     * @return the template
+     */
+    static String template(String path) {
+        String[] segments = path.split("/");
+        StringBuilder template = new StringBuilder(path.length());
+        String[] parameters = null;
+        int parameter = 0;
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/');
+            if (parameters != null && parameter < parameters.length) {
+                String name = parameters[parameter++];
+                if (name.endsWith("*")) {
+                    template.append(name, 0, name.length() - 1);
+                    break;
+                }
+                template.append(name);
+            } else if (NUMBER.matcher(segment).matches()) {
+                template.append("{id}");
+                parameters = null;
+            } else if (SHA.matcher(segment).matches()) {
+                template.append("{sha}");
+                parameters = null;
+            } else {
+                template.append(segment);
+                parameters = PARAMETERS.get(segment);
+                parameter = 0;
+            }
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private EndpointTemplates() {
+    }
+}
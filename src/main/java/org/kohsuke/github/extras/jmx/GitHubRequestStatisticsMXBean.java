@@ -0,0 +1,120 @@
+package org.kohsuke.github.extras.jmx;
+
+import java.util.Map;
+
+/**
+ * The JMX attributes and operations of {@link JmxGitHubInstrumentation}.
+ */
+public interface GitHubRequestStatisticsMXBean {
+
+    /**
+     * The number of body bytes received, before any {@code Content-Encoding} was decoded.
+     *
+     * @return the number of bytes received
+     */
+    long getBytesReceived();
+
+    /**
+     * The latencies of the requests to each endpoint, keyed by method and endpoint template, such as
+     * {@code GET /repos/{owner}/{repo}/pulls}. Latency is the total time of a request, including retries.
+     *
+     * @return the latencies by endpoint
+     */
+    Map<String, EndpointLatency> getEndpointLatencies();
+
+    /**
+     * The number of requests that failed with an exception.
+     *
+     * @return the number of failed requests
+     */
+    long getFailureCount();
+
+    /**
+     * The mean time spent reading response bodies.
+     *
+     * @return the mean body read time in milliseconds
+     */
+    double getMeanBodyReadMillis();
+
+    /**
+     * The mean time spent deserializing response bodies.
+     *
+     * @return the mean deserialization time in milliseconds
+     */
+    double getMeanDeserializationMillis();
+
+    /**
+     * The mean time spent preparing requests.
+     *
+     * @return the mean preparation time in milliseconds
+     */
+    double getMeanPreparationMillis();
+
+    /**
+     * The mean time requests waited because of rate limits.
+     *
+     * @return the mean rate limit wait time in milliseconds
+     */
+    double getMeanRateLimitWaitMillis();
+
+    /**
+     * The mean time from sending requests until their response headers were received.
+     *
+     * @return the mean time to first byte in milliseconds
+     */
+    double getMeanTimeToFirstByteMillis();
+
+    /**
+     * The mean total time of requests.
+     *
+     * @return the mean total time in milliseconds
+     */
+    double getMeanTotalMillis();
+
+    /**
+     * The number of requests answered with {@code 304 Not Modified}.
+     *
+     * @return the number of not modified responses
+     */
+    long getNotModifiedCount();
+
+    /**
+     * The share of requests answered with {@code 304 Not Modified}, the cache hit ratio of conditional requests.
+     *
+     * @return the ratio, between 0 and 1
+     */
+    double getNotModifiedRatio();
+
+    /**
+     * The remaining rate limit last reported for each rate limit target, such as {@code CORE} or {@code SEARCH}.
+     *
+     * @return the remaining rate limit by target
+     */
+    Map<String, Integer> getRemainingRateLimit();
+
+    /**
+     * The number of completed requests.
+     *
+     * @return the number of requests
+     */
+    long getRequestCount();
+
+    /**
+     * The number of times requests were sent again, after a retry or redirect.
+     *
+     * @return the number of retries
+     */
+    long getRetryCount();
+
+    /**
+     * The number of responses by status code. Requests that received no response are not counted.
+     *
+     * @return the number of responses by status code
+     */
+    Map<String, Long> getStatusCodeCounts();
+
+    /**
+     * Resets all counters.
+     */
+    void reset();
+}
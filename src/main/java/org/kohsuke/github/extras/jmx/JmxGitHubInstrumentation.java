@@ -0,0 +1,303 @@
+package org.kohsuke.github.extras.jmx;
+
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHubInstrumentation;
+import org.kohsuke.github.GitHubRequest;
+import org.kohsuke.github.GitHubRequestMetrics;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.CheckForNull;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@link GitHubInstrumentation} that aggregates request metrics and publishes them as a JMX MXBean.
+ * <p>
+ * Besides totals and means, it keeps a latency histogram for each endpoint, so the percentiles of, for example,
+ * {@code GET /repos/{owner}/{repo}/pulls} can be compared with those of other endpoints.
+ * </p>
+ * <p>
+ * Counters and histograms are updated without locking, so one instance can be shared by many
+ * {@link org.kohsuke.github.GitHub} instances and threads.
+ * </p>
+ *
+ * <pre>
+ * JmxGitHubInstrumentation instrumentation = JmxGitHubInstrumentation.register("my-app");
+ * GitHub gitHub = new GitHubBuilder().withInstrumentation(instrumentation).build();
+ * </pre>
+ *
+ * @see org.kohsuke.github.GitHubBuilder#withInstrumentation(GitHubInstrumentation)
+ */
+public class JmxGitHubInstrumentation implements GitHubInstrumentation, GitHubRequestStatisticsMXBean, Closeable {
+
+    /** The domain of the object names of registered instances. */
+    public static final String DOMAIN = "org.kohsuke.github";
+
+    /** The maximum number of endpoints with their own histogram. Others are counted as {@value #OTHER_ENDPOINTS}. */
+    private static final int MAX_ENDPOINTS = 500;
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private static final String OTHER_ENDPOINTS = "OTHER";
+
+    /**
+     * Creates an instance and registers it with the platform MBean server as
+     * {@code org.kohsuke.github:type=GitHubRequests,name=<name>}.
+     *
+     * @param name
+     *            the name that identifies the instance
+     * @return the registered instance, which is unregistered by {@link #close()}
+     * @throws JMException
+     *             if the instance could not be registered, for example because the name is taken
+     */
+    public static JmxGitHubInstrumentation register(String name) throws JMException {
+        JmxGitHubInstrumentation instrumentation = new JmxGitHubInstrumentation();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = ObjectName
+                .getInstance(DOMAIN + ":type=GitHubRequests,name=" + ObjectName.quote(name));
+        server.registerMBean(instrumentation, objectName);
+        instrumentation.server = server;
+        instrumentation.objectName = objectName;
+        return instrumentation;
+    }
+
+    /**
+     * Requests can complete out of order. Like {@link GHRateLimit}, prefer the record with the later reset, or with
+     * fewer requests remaining for the same reset.
+     */
+    private static GHRateLimit.Record current(GHRateLimit.Record current, GHRateLimit.Record other) {
+        if (current.getResetEpochSeconds() > other.getResetEpochSeconds()
+                || (current.getResetEpochSeconds() == other.getResetEpochSeconds()
+                        && current.getRemaining() <= other.getRemaining())) {
+            return current;
+        }
+        return other;
+    }
+
+    private static double mean(LongAdder nanos, long count) {
+        return count == 0 ? 0 : nanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    private final LongAdder bodyReadNanos = new LongAdder();
+
+    private final LongAdder bytesReceived = new LongAdder();
+
+    private final LongAdder deserializationNanos = new LongAdder();
+
+    private final ConcurrentMap<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+
+    private final LongAdder failureCount = new LongAdder();
+
+    private final LongAdder notModifiedCount = new LongAdder();
+
+    @CheckForNull
+    private ObjectName objectName;
+
+    private final LongAdder preparationNanos = new LongAdder();
+
+    private final ConcurrentMap<String, GHRateLimit.Record> rateLimits = new ConcurrentHashMap<>();
+
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder retryCount = new LongAdder();
+
+    @CheckForNull
+    private MBeanServer server;
+
+    private final ConcurrentMap<Integer, LongAdder> statusCodeCounts = new ConcurrentHashMap<>();
+
+    private final LongAdder timeToFirstByteNanos = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Creates an instance that is not registered with an MBean server. Register it with
+     * {@link MBeanServer#registerMBean(Object, ObjectName)}, or use {@link #register(String)}.
+     */
+    public JmxGitHubInstrumentation() {
+    }
+
+    /**
+     * Unregisters this instance, if it was created by {@link #register(String)}.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null && objectName != null) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                // Already unregistered
+            }
+            server = null;
+            objectName = null;
+        }
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public Map<String, EndpointLatency> getEndpointLatencies() {
+        Map<String, EndpointLatency> result = new TreeMap<>();
+        endpoints.forEach((endpoint, histogram) -> result.put(endpoint, new EndpointLatency(histogram)));
+        return result;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public double getMeanBodyReadMillis() {
+        return mean(bodyReadNanos, getRequestCount());
+    }
+
+    @Override
+    public double getMeanDeserializationMillis() {
+        return mean(deserializationNanos, getRequestCount());
+    }
+
+    @Override
+    public double getMeanPreparationMillis() {
+        return mean(preparationNanos, getRequestCount());
+    }
+
+    @Override
+    public double getMeanRateLimitWaitMillis() {
+        return mean(rateLimitWaitNanos, getRequestCount());
+    }
+
+    @Override
+    public double getMeanTimeToFirstByteMillis() {
+        return mean(timeToFirstByteNanos, getRequestCount());
+    }
+
+    @Override
+    public double getMeanTotalMillis() {
+        return mean(totalNanos, getRequestCount());
+    }
+
+    @Override
+    public long getNotModifiedCount() {
+        return notModifiedCount.sum();
+    }
+
+    @Override
+    public double getNotModifiedRatio() {
+        long count = getRequestCount();
+        return count == 0 ? 0 : (double) getNotModifiedCount() / count;
+    }
+
+    /**
+     * The object name this instance was registered with by {@link #register(String)}.
+     *
+     * @return the object name, or {@code null} if it is not registered
+     */
+    @CheckForNull
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public Map<String, Integer> getRemainingRateLimit() {
+        Map<String, Integer> result = new TreeMap<>();
+        rateLimits.forEach((target, record) -> result.put(target, record.getRemaining()));
+        return result;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCodeCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        statusCodeCounts.forEach((statusCode, count) -> result.put(String.valueOf(statusCode), count.sum()));
+        return result;
+    }
+
+    @Override
+    public void requestCompleted(GitHubRequestMetrics metrics) {
+        requestCount.increment();
+        if (metrics.getFailure() != null) {
+            failureCount.increment();
+        }
+        if (metrics.getAttempts() > 1) {
+            retryCount.add(metrics.getAttempts() - 1);
+        }
+        if (metrics.getStatusCode() >= 0) {
+            statusCodeCounts.computeIfAbsent(metrics.getStatusCode(), k -> new LongAdder()).increment();
+        }
+        if (metrics.isNotModified()) {
+            notModifiedCount.increment();
+        }
+        bytesReceived.add(metrics.getBytesReceived());
+        add(preparationNanos, metrics.getPreparation());
+        add(rateLimitWaitNanos, metrics.getRateLimitWait());
+        add(timeToFirstByteNanos, metrics.getTimeToFirstByte());
+        add(bodyReadNanos, metrics.getBodyRead());
+        add(deserializationNanos, metrics.getDeserialization());
+        add(totalNanos, metrics.getTotal());
+        endpoint(metrics.getRequest()).record(metrics.getTotal().toNanos());
+
+        GHRateLimit.Record rateLimit = metrics.getRateLimit();
+        if (rateLimit != null) {
+            rateLimits.merge(metrics.getRateLimitTarget().name(), rateLimit, JmxGitHubInstrumentation::current);
+        }
+    }
+
+    @Override
+    public void reset() {
+        requestCount.reset();
+        failureCount.reset();
+        retryCount.reset();
+        notModifiedCount.reset();
+        bytesReceived.reset();
+        preparationNanos.reset();
+        rateLimitWaitNanos.reset();
+        timeToFirstByteNanos.reset();
+        bodyReadNanos.reset();
+        deserializationNanos.reset();
+        totalNanos.reset();
+        statusCodeCounts.clear();
+        rateLimits.clear();
+        endpoints.clear();
+    }
+
+    private void add(LongAdder nanos, Duration duration) {
+        nanos.add(duration.toNanos());
+    }
+
+    private LatencyHistogram endpoint(GitHubRequest request) {
+        String endpoint = EndpointTemplates.endpoint(request);
+        LatencyHistogram histogram = endpoints.get(endpoint);
+        if (histogram == null) {
+            if (endpoints.size() >= MAX_ENDPOINTS) {
+                // Bound the memory used by unexpected paths that were not normalized
+                endpoint = OTHER_ENDPOINTS;
+            }
+            histogram = endpoints.computeIfAbsent(endpoint, k -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,151 @@
+package org.kohsuke.github.extras.jmx;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with fixed, logarithmically sized buckets that records without locking.
+ * <p>
+ * Like an HDR histogram, each power of two of microseconds is split into {@value #SUB_BUCKETS} linear buckets, so a
+ * recorded value is known to within 12.5%. Values from one microsecond up to about 35 minutes have their own bucket;
+ * longer ones are counted in the last bucket. Each bucket is a {@link LongAdder}, which stripes its count across
+ * threads under contention.
+ * </p>
+ * <p>
+ * Reads are not atomic with respect to concurrent recording, so a percentile may miss values recorded while it is
+ * computed.
+ * </p>
+ */
+final class LatencyHistogram {
+
+    /** The number of linear buckets each power of two is split into. */
+    static final int SUB_BUCKETS = 8;
+
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private static final long MAX_MICROS = (1L << 31) - 1;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The bucket a value is counted in.
+     *
+     * @param micros
+     *            the value in microseconds
+     * @return the index of the bucket
+     */
+    static int bucketIndex(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_MICROS));
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The highest value counted in a bucket.
+     *
+     * @param index
+     *            the index of the bucket
+     * @return the highest value in microseconds
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    /**
+     * Creates an empty histogram.
+     */
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The number of recorded values.
+     *
+     * @return the count
+     */
+    long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * The highest recorded value.
+     *
+     * @return the maximum in milliseconds
+     */
+    double maxMillis() {
+        return maxMicros.get() / 1000d;
+    }
+
+    /**
+     * The mean of the recorded values.
+     *
+     * @return the mean in milliseconds, or 0 if nothing was recorded
+     */
+    double meanMillis() {
+        long count = count();
+        return count == 0 ? 0 : totalMicros.sum() / 1000d / count;
+    }
+
+    /**
+     * The value below which the given share of recorded values fall, as the highest value of its bucket.
+     *
+     * @param percentile
+     *            the percentile, between 0 and 100
+     * @return the value in milliseconds, or 0 if nothing was recorded
+     */
+    double percentileMillis(double percentile) {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        int index = 0;
+        for (; index < counts.length - 1; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                break;
+            }
+        }
+        return Math.min(bucketUpperBound(index), maxMicros.get()) / 1000d;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param nanos
+     *            the value in nanoseconds
+     */
+    void record(long nanos) {
+        long micros = nanos / 1000;
+        buckets[bucketIndex(micros)].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+}
@@ -1,16 +1,21 @@
 package org.kohsuke.github.extras.okhttp3;
 
 import okhttp3.*;
-import org.apache.commons.io.IOUtils;
+import okio.BufferedSink;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorOptions;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.CheckForNull;
@@ -33,18 +38,33 @@ public class OkHttpGitHubConnector implements GitHubConnector {
      */
     private static class OkHttpGitHubConnectorResponse extends GitHubConnectorResponse {
 
+        @CheckForNull
+        private Semaphore permits;
+
         @Nonnull
         private final Response response;
 
-        OkHttpGitHubConnectorResponse(@Nonnull GitHubConnectorRequest request, @Nonnull Response response) {
+        OkHttpGitHubConnectorResponse(@Nonnull GitHubConnectorRequest request,
+                @Nonnull Response response,
+                @CheckForNull Semaphore permits) {
             super(request, response.code(), response.headers().toMultimap());
             this.response = response;
+            this.permits = permits;
         }
 
         @Override
         public void close() throws IOException {
-            super.close();
-            response.close();
+            try {
+                super.close();
+                response.close();
+            } finally {
+                synchronized (this) {
+                    if (permits != null) {
+                        permits.release();
+                        permits = null;
+                    }
+                }
+            }
         }
 
         @CheckForNull
@@ -60,10 +80,41 @@ public class OkHttpGitHubConnector implements GitHubConnector {
     }
     private static final String HEADER_NAME = "Cache-Control";
 
+    /**
+     * Streams the request body rather than buffering it, sending files directly where possible.
+     */
+    private static RequestBody requestBody(GitHubConnectorRequest request) {
+        File bodyFile = request.bodyFile();
+        if (bodyFile != null) {
+            return RequestBody.create(bodyFile, null);
+        }
+        return new RequestBody() {
+            @Override
+            public long contentLength() {
+                return request.bodyLength();
+            }
+
+            @CheckForNull
+            @Override
+            public MediaType contentType() {
+                // The Content-type header is set with the other request headers
+                return null;
+            }
+
+            @Override
+            public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+                request.writeBody(sink.outputStream());
+            }
+        };
+    }
+
     private final OkHttpClient client;
 
     private final String maxAgeHeaderValue;
 
+    @CheckForNull
+    private final Semaphore permits;
+
     /**
      * Instantiates a new Ok http connector.
      *
@@ -83,11 +134,44 @@ public class OkHttpGitHubConnector implements GitHubConnector {
      *            the cache max age
      */
     public OkHttpGitHubConnector(OkHttpClient client, int cacheMaxAge) {
+        this(client, cacheMaxAge, GitHubConnectorOptions.DEFAULT);
+    }
+
+    /**
+     * Instantiates a new Ok http connector.
+     *
+     * @param client
+     *            the client
+     * @param cacheMaxAge
+     *            the cache max age
+     * @param options
+     *            the transport settings to apply on top of the settings of {@code client}
+     */
+    public OkHttpGitHubConnector(OkHttpClient client, int cacheMaxAge, @Nonnull GitHubConnectorOptions options) {
 
         OkHttpClient.Builder builder = client.newBuilder();
 
         builder.connectionSpecs(TlsConnectionSpecs());
+        if (options.getHttpVersion() == GitHubConnectorOptions.HttpVersion.HTTP_1_1) {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        } else if (options.getHttpVersion() == GitHubConnectorOptions.HttpVersion.HTTP_2) {
+            builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        }
+        if (options.getConnectTimeout() != null) {
+            builder.connectTimeout(options.getConnectTimeout());
+        }
+        if (options.getRequestTimeout() != null) {
+            builder.readTimeout(options.getRequestTimeout());
+        }
+        if (options.getKeepAlive() != null) {
+            builder.connectionPool(new ConnectionPool(options.getMaxIdleConnections(),
+                    options.getKeepAlive().toMillis(),
+                    TimeUnit.MILLISECONDS));
+        }
         this.client = builder.build();
+        this.permits = options.getMaxConcurrentRequests() > 0
+                ? new Semaphore(options.getMaxConcurrentRequests(), true)
+                : null;
         if (cacheMaxAge >= 0 && this.client != null && this.client.cache() != null) {
             maxAgeHeaderValue = new CacheControl.Builder().maxAge(cacheMaxAge, TimeUnit.SECONDS).build().toString();
         } else {
@@ -117,13 +201,27 @@ public class OkHttpGitHubConnector implements GitHubConnector {
 
         RequestBody body = null;
         if (request.hasBody()) {
-            body = RequestBody.create(IOUtils.toByteArray(request.body()));
+            body = requestBody(request);
         }
         builder.method(request.method(), body);
         Request okhttpRequest = builder.build();
-        Response okhttpResponse = client.newCall(okhttpRequest).execute();
 
-        return new OkHttpGitHubConnectorResponse(request, okhttpResponse);
+        boolean acquired = false;
+        try {
+            if (permits != null) {
+                permits.acquire();
+                acquired = true;
+            }
+            Response okhttpResponse = client.newCall(okhttpRequest).execute();
+            acquired = false;
+            return new OkHttpGitHubConnectorResponse(request, okhttpResponse, permits);
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+        }
     }
 
     /** Returns connection spec with TLS v1.2 in it */
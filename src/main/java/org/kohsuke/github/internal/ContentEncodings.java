@@ -0,0 +1,258 @@
+package org.kohsuke.github.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Decoding of compressed HTTP response bodies.
+ * <p>
+ * {@code gzip} and {@code deflate} are always supported. {@code br} is supported when the
+ * <a href="https://github.com/google/brotli">Brotli</a> decoder ({@code org.brotli:dec}) is on the classpath.
+ * {@link Inflater} instances are pooled, as each one holds native memory that is otherwise only released by
+ * {@link Inflater#end()} or finalization.
+ * </p>
+ */
+public final class ContentEncodings {
+
+    /**
+     * An {@link InflaterInputStream} that returns its {@link Inflater} to a pool when closed, and optionally reads the
+     * gzip header and trailer around the compressed data.
+     */
+    private static final class PooledInflaterInputStream extends InflaterInputStream {
+
+        private boolean closed;
+
+        @CheckForNull
+        private final CRC32 crc;
+
+        private boolean endOfStream;
+
+        private final BlockingQueue<Inflater> pool;
+
+        PooledInflaterInputStream(InputStream in, BlockingQueue<Inflater> pool, boolean gzip) throws IOException {
+            super(in, acquire(pool, gzip), BUFFER_SIZE);
+            this.pool = pool;
+            this.crc = gzip ? new CRC32() : null;
+            if (gzip) {
+                try {
+                    readGzipHeader();
+                } catch (IOException e) {
+                    close();
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    inf.reset();
+                    if (!pool.offer(inf)) {
+                        inf.end();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (endOfStream) {
+                return -1;
+            }
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                endOfStream = true;
+                if (crc != null) {
+                    readGzipTrailer();
+                }
+            } else if (crc != null) {
+                crc.update(b, off, n);
+            }
+            return n;
+        }
+
+        private void readGzipHeader() throws IOException {
+            if (readUnsignedShort(in) != GZIP_MAGIC) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (readUnsignedByte(in) != 8) {
+                throw new ZipException("Unsupported compression method");
+            }
+            int flags = readUnsignedByte(in);
+            // Modification time, extra flags and operating system
+            skipBytes(in, 6);
+            if ((flags & FEXTRA) != 0) {
+                skipBytes(in, readUnsignedShort(in));
+            }
+            if ((flags & FNAME) != 0) {
+                while (readUnsignedByte(in) != 0) {
+                    // skip the zero terminated file name
+                }
+            }
+            if ((flags & FCOMMENT) != 0) {
+                while (readUnsignedByte(in) != 0) {
+                    // skip the zero terminated comment
+                }
+            }
+            if ((flags & FHCRC) != 0) {
+                skipBytes(in, 2);
+            }
+        }
+
+        private void readGzipTrailer() throws IOException {
+            // The inflater may already have read part or all of the trailer into the buffer
+            int remaining = inf.getRemaining();
+            InputStream trailer = remaining > 0
+                    ? new SequenceInputStream(new ByteArrayInputStream(buf, len - remaining, remaining), in)
+                    : in;
+            long expectedCrc = readUnsignedInt(trailer);
+            long expectedSize = readUnsignedInt(trailer);
+            if (expectedCrc != crc.getValue() || expectedSize != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+        }
+    }
+
+    /**
+     * The value to send in the {@code Accept-Encoding} request header, listing every encoding that
+     * {@link #decode(String, InputStream)} supports.
+     */
+    public static final String ACCEPT_ENCODING = findBrotliDecoder() != null ? "gzip, deflate, br" : "gzip, deflate";
+
+    private static final Constructor<? extends InputStream> BROTLI_DECODER = findBrotliDecoder();
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final BlockingQueue<Inflater> DEFLATE_INFLATERS = new ArrayBlockingQueue<>(32);
+
+    private static final int FCOMMENT = 16;
+
+    private static final int FEXTRA = 4;
+
+    private static final int FHCRC = 2;
+
+    private static final int FNAME = 8;
+
+    private static final BlockingQueue<Inflater> GZIP_INFLATERS = new ArrayBlockingQueue<>(32);
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    /**
+     * Wraps a response body stream to decode it according to its {@code Content-Encoding} header.
+     *
+     * @param contentEncoding
+     *            the value of the {@code Content-Encoding} header, which may list several encodings in the order they
+     *            were applied
+     * @param stream
+     *            the stream to decode
+     * @return the decoded stream, or {@code stream} itself if no decoding is needed
+     * @throws IOException
+     *             if the stream does not start with a valid header for its encoding
+     * @throws UnsupportedOperationException
+     *             if an encoding is not supported
+     */
+    public static InputStream decode(@CheckForNull String contentEncoding, InputStream stream) throws IOException {
+        if (contentEncoding == null || stream == null) {
+            return stream;
+        }
+        String[] encodings = contentEncoding.split(",");
+        InputStream decoded = stream;
+        for (int i = encodings.length - 1; i >= 0; i--) {
+            decoded = decodeOne(encodings[i].trim().toLowerCase(Locale.ROOT), decoded);
+        }
+        return decoded;
+    }
+
+    private static Inflater acquire(BlockingQueue<Inflater> pool, boolean nowrap) {
+        Inflater inflater = pool.poll();
+        return inflater != null ? inflater : new Inflater(nowrap);
+    }
+
+    private static InputStream decodeOne(String encoding, InputStream stream) throws IOException {
+        switch (encoding) {
+            case "" :
+            case "identity" :
+                return stream;
+            case "gzip" :
+            case "x-gzip" :
+                return new PooledInflaterInputStream(stream, GZIP_INFLATERS, true);
+            case "deflate" :
+                return new PooledInflaterInputStream(stream, DEFLATE_INFLATERS, false);
+            case "br" :
+                if (BROTLI_DECODER != null) {
+                    return newBrotliStream(stream);
+                }
+                break;
+            default :
+                break;
+        }
+        throw new UnsupportedOperationException("Unexpected Content-Encoding: " + encoding);
+    }
+
+    @CheckForNull
+    private static Constructor<? extends InputStream> findBrotliDecoder() {
+        try {
+            return Class.forName("org.brotli.dec.BrotliInputStream")
+                    .asSubclass(InputStream.class)
+                    .getConstructor(InputStream.class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static InputStream newBrotliStream(InputStream stream) throws IOException {
+        try {
+            return BROTLI_DECODER.newInstance(stream);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to create Brotli decoder", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Failed to create Brotli decoder", e);
+        }
+    }
+
+    private static int readUnsignedByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Unexpected end of compressed stream");
+        }
+        return b;
+    }
+
+    private static long readUnsignedInt(InputStream in) throws IOException {
+        return ((long) readUnsignedShort(in)) | ((long) readUnsignedShort(in) << 16);
+    }
+
+    private static int readUnsignedShort(InputStream in) throws IOException {
+        return readUnsignedByte(in) | (readUnsignedByte(in) << 8);
+    }
+
+    private static void skipBytes(InputStream in, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte(in);
+        }
+    }
+
+    private ContentEncodings() {
+    }
+}
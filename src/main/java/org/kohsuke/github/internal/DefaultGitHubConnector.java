@@ -2,9 +2,12 @@ package org.kohsuke.github.internal;
 
 import okhttp3.OkHttpClient;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorOptions;
 import org.kohsuke.github.extras.HttpClientGitHubConnector;
 import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
 
+import javax.annotation.Nonnull;
+
 /**
  * Internal class that selects what kind of {@link GitHubConnector} will be the default.
  *
@@ -27,18 +30,36 @@ public final class DefaultGitHubConnector {
      * @return a GitHubConnector
      */
     public static GitHubConnector create() {
+        return create(GitHubConnectorOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a new {@link GitHubConnector} of the default kind, configured with the given options.
+     *
+     * <p>
+     * The kind of connector is chosen the same way as for {@link #create()}.
+     *
+     * @param options
+     *            the transport settings for the new connector
+     * @return a GitHubConnector
+     */
+    public static GitHubConnector create(@Nonnull GitHubConnectorOptions options) {
         String defaultConnectorProperty = System.getProperty("test.github.connector", "default");
-        return create(defaultConnectorProperty);
+        return create(defaultConnectorProperty, options);
     }
 
     static GitHubConnector create(String defaultConnectorProperty) {
+        return create(defaultConnectorProperty, GitHubConnectorOptions.DEFAULT);
+    }
+
+    static GitHubConnector create(String defaultConnectorProperty, @Nonnull GitHubConnectorOptions options) {
 
         if (defaultConnectorProperty.equalsIgnoreCase("okhttp")) {
-            return new OkHttpGitHubConnector(new OkHttpClient.Builder().build());
+            return new OkHttpGitHubConnector(new OkHttpClient.Builder().build(), 0, options);
         } else if (defaultConnectorProperty.equalsIgnoreCase("httpclient")) {
-            return new HttpClientGitHubConnector();
+            return new HttpClientGitHubConnector(options);
         } else if (defaultConnectorProperty.equalsIgnoreCase("default")) {
-            return new HttpClientGitHubConnector();
+            return new HttpClientGitHubConnector(options);
         } else {
             throw new IllegalStateException(
                     "Property 'test.github.connector' must reference a valid built-in connector - okhttp, httpclient, or default.");
@@ -0,0 +1,69 @@
+package org.kohsuke.github;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHAccessCache}.
+ */
+public class GHAccessCacheTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHAccessCacheTest instance
+     */
+    public GHAccessCacheTest() {
+    }
+
+    /**
+     * Answers membership and permission checks from lists loaded once, then revalidates them with ETags.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCache() throws Exception {
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        GHAccessCache cache = new GHAccessCache(Duration.ofHours(1));
+        int requestCount = mockGitHub.getRequestCount();
+        assertThat(cache.hasMember(organization, "ALICE"), is(true));
+        assertThat(cache.hasMember(organization, "dave"), is(true));
+        assertThat(cache.hasMember(organization, "carol"), is(false));
+        assertThat(cache.getMembers(organization), hasSize(3));
+        // Both pages of members, loaded once
+        assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 2));
+
+        cache.preload(repository);
+        assertThat(cache.hasPermission(repository, "alice", GHPermissionType.ADMIN), is(true));
+        assertThat(cache.getPermission(repository, "bob"), equalTo(GHPermissionType.READ));
+        assertThat(cache.getPermission(repository, "erin"), equalTo(GHPermissionType.WRITE));
+        assertThat(cache.hasPermission(repository, "erin", GHPermissionType.ADMIN), is(false));
+        // Not a collaborator, but the repository is public
+        assertThat(cache.getPermission(repository, "zed"), equalTo(GHPermissionType.READ));
+        assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 3));
+
+        // Every check revalidates: the first page is not modified and the second has changed
+        GHAccessCache revalidating = new GHAccessCache(Duration.ZERO);
+        assertThat(revalidating.hasMember(organization, "carol"), is(false));
+        assertThat(revalidating.getMembers(organization).stream().map(GHUser::getLogin).collect(Collectors.toSet()),
+                containsInAnyOrder("alice", "bob", "Carol"));
+        assertThat(revalidating.hasMember(organization, "carol"), is(true));
+        assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 9));
+    }
+
+    /**
+     * Enable response templating to allow support validating pagination of members
+     *
+     * @return the updated WireMock options
+     */
+    @Override
+    protected WireMockConfiguration getWireMockOptions() {
+        return super.getWireMockOptions().extensions(templating.newResponseTransformer());
+    }
+}
@@ -0,0 +1,107 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHAppInstallationTokenManager}.
+ */
+public class GHAppInstallationTokenManagerTest extends AbstractGHAppInstallationTest {
+
+    /**
+     * Create default GHAppInstallationTokenManagerTest instance
+     */
+    public GHAppInstallationTokenManagerTest() {
+        useDefaultGitHub = false;
+    }
+
+    /**
+     * Creates tokens for several installations once, and uses them for per-installation GitHub instances.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testTokens() throws Exception {
+        GitHub app = getGitHubBuilder().withAuthorizationProvider(jwtProvider1)
+                .withEndpoint(mockGitHub.apiServer().baseUrl())
+                .build();
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        try (GHAppInstallationTokenManager manager = new GHAppInstallationTokenManager(app, executor)) {
+            manager.preload(Arrays.asList(11L, 12L));
+            assertThat(mockGitHub.getRequestCount(), equalTo(2));
+            assertThat(manager.getEncodedAuthorization(11), equalTo("token ghs_eleven"));
+            assertThat(manager.getEncodedAuthorization(12), equalTo("token ghs_twelve"));
+
+            GitHub installation = manager.getInstallationGitHub(12);
+            assertThat(manager.getInstallationGitHub(12), sameInstance(installation));
+            assertThat(installation.getRepository("hub4j-test-org/github-api").getName(), equalTo("github-api"));
+            assertThat(mockGitHub.getRequestCount(), equalTo(3));
+
+            // A forgotten installation gets a new token on its next use
+            manager.invalidate(11);
+            assertThat(manager.getAuthorizationProvider(11).getEncodedAuthorization(), equalTo("token ghs_eleven"));
+            assertThat(mockGitHub.getRequestCount(), equalTo(4));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A refresh that was in progress when its installation was invalidated does not schedule another one.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testInvalidateWhileRefreshing() throws Exception {
+        GitHub app = getGitHubBuilder().withAuthorizationProvider(jwtProvider1)
+                .withEndpoint(mockGitHub.apiServer().baseUrl())
+                .build();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        try (GHAppInstallationTokenManager manager = new GHAppInstallationTokenManager(app, executor)) {
+            // Hold the only thread, so the token is created only once the installation has been invalidated
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            CompletableFuture<Void> preload = CompletableFuture.runAsync(() -> {
+                try {
+                    manager.preload(Arrays.asList(11L));
+                } catch (Exception e) {
+                    throw new GHException("preload failed", e);
+                }
+            });
+            while (executor.getQueue().isEmpty()) {
+                Thread.sleep(10);
+            }
+
+            manager.invalidate(11);
+            release.countDown();
+            preload.get(10, TimeUnit.SECONDS);
+            // Wait for the callbacks of the refresh, which run on the executor thread
+            executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+
+            assertThat(mockGitHub.getRequestCount(), equalTo(1));
+            assertThat(executor.getQueue(), empty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.kohsuke.github;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHAssetTransferManager}.
+ */
+public class GHAssetTransferManagerTest extends AbstractGitHubWireMockTest {
+
+    private static String readString(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create default GHAssetTransferManagerTest instance
+     */
+    public GHAssetTransferManagerTest() {
+    }
+
+    /**
+     * Downloads an asset in ranged chunks, resumes a partial download and rejects a digest mismatch.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void download() throws Exception {
+        List<GHAsset> assets = gitHub.getRepository("hub4j-test-org/github-api")
+                .getRelease(1001)
+                .listAssets()
+                .toList();
+        assertThat(assets, hasSize(2));
+        GHAsset asset = assets.get(0);
+        assertThat(asset.getDigest(),
+                equalTo("sha256:84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882"));
+
+        Path directory = Files.createTempDirectory("github-api-assets");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            GHAssetTransferManager manager = new GHAssetTransferManager(executor).chunkSize(4);
+            File target = directory.resolve("asset.txt").toFile();
+            Path progress = directory.resolve("asset.txt" + GHAssetTransferManager.PROGRESS_SUFFIX);
+
+            int requestCount = mockGitHub.getRequestCount();
+            manager.download(asset, target);
+            assertThat(readString(target), equalTo("0123456789"));
+            assertThat(Files.exists(progress), is(false));
+            assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 3));
+
+            // Only the chunk missing from the progress record is requested again
+            Files.write(target.toPath(), "01234567".getBytes(StandardCharsets.UTF_8));
+            Files.write(progress, "11 10 4\n0\n4\n".getBytes(StandardCharsets.UTF_8));
+            requestCount = mockGitHub.getRequestCount();
+            manager.download(asset, target);
+            assertThat(readString(target), equalTo("0123456789"));
+            assertThat(Files.exists(progress), is(false));
+            assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 1));
+
+            // A progress record for different settings is ignored
+            Files.write(progress, "11 10 8\n0\n".getBytes(StandardCharsets.UTF_8));
+            requestCount = mockGitHub.getRequestCount();
+            manager.download(asset, target);
+            assertThat(readString(target), equalTo("0123456789"));
+            assertThat(mockGitHub.getRequestCount(), equalTo(requestCount + 3));
+
+            File corrupt = directory.resolve("corrupt.txt").toFile();
+            IOException e = Assert.assertThrows(IOException.class,
+                    () -> new GHAssetTransferManager(executor).chunkSize(10).download(assets.get(1), corrupt));
+            assertThat(e.getMessage(), containsString("does not match"));
+            assertThat(Files.exists(directory.resolve("corrupt.txt" + GHAssetTransferManager.PROGRESS_SUFFIX)),
+                    is(false));
+        } finally {
+            executor.shutdownNow();
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.kohsuke.github;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHBlobCache}.
+ */
+public class GHBlobCacheTest extends AbstractGitHubWireMockTest {
+
+    private static final String SHA = "ce013625030ba8dba906f756967f9e9ca394464a";
+
+    private static String read(InputStream in) throws Exception {
+        try (InputStream stream = in) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Create default GHBlobCacheTest instance
+     */
+    public GHBlobCacheTest() {
+    }
+
+    /**
+     * Stores blobs on disk, reads them back in a new cache and rejects contents that do not match their SHA.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void directory() throws Exception {
+        Path directory = Files.createTempDirectory("github-api-blobs");
+        byte[] hello = "hello\n".getBytes(StandardCharsets.UTF_8);
+
+        GHBlobCache cache = new GHBlobCache(0).directory(directory);
+        assertThat(cache.put(SHA, "goodbye\n".getBytes(StandardCharsets.UTF_8)), is(false));
+        assertThat(cache.get(SHA), nullValue());
+        assertThat(cache.put(SHA, hello), is(true));
+        // Too large for the memory budget, so only stored on disk
+        assertThat(cache.getMemoryBytes(), equalTo(0L));
+
+        GHBlobCache reopened = new GHBlobCache(1024).directory(directory);
+        assertThat(GHBlobCache.toByteArray(reopened.get(SHA)), equalTo(hello));
+        assertThat(reopened.get("../../etc/passwd"), nullValue());
+        assertThat(reopened.getHitCount(), equalTo(1L));
+        assertThat(reopened.getMissCount(), equalTo(1L));
+    }
+
+    /**
+     * Reads a blob once, then answers later reads of it from the cache, also for other {@link GitHub} instances.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void readBlob() throws Exception {
+        GHBlobCache cache = new GHBlobCache(1024);
+        GitHub cached = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                .withBlobCache(cache)
+                .build();
+        GHRepository repository = cached.getRepository("hub4j-test-org/github-api");
+
+        assertThat(read(repository.readBlob(SHA)), equalTo("hello\n"));
+        assertThat(mockGitHub.getRequestCount(), equalTo(2));
+        assertThat(read(repository.readBlob(SHA)), equalTo("hello\n"));
+        GHBlob blob = repository.getBlob(SHA);
+        assertThat(blob.getSha(), equalTo(SHA));
+        assertThat(blob.getSize(), equalTo(6L));
+        assertThat(read(blob.read()), equalTo("hello\n"));
+        assertThat(mockGitHub.getRequestCount(), equalTo(2));
+
+        GitHub other = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                .withBlobCache(cache)
+                .build();
+        assertThat(read(other.getRepository("hub4j-test-org/github-api").readBlob(SHA)), equalTo("hello\n"));
+        assertThat(mockGitHub.getRequestCount(), equalTo(3));
+        assertThat(cache.getHitCount(), equalTo(3L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+        assertThat(cache.getMemoryBytes(), equalTo(6L));
+    }
+}
@@ -0,0 +1,50 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHChangeSetBuilder}.
+ */
+public class GHChangeSetBuilderTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHChangeSetBuilderTest instance
+     */
+    public GHChangeSetBuilderTest() {
+    }
+
+    /**
+     * Commits several files at once, creating the commit again when the branch moved before it was fast-forwarded.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void commit() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            GHCommit commit = repository.createChangeSet("main")
+                    .add("config/one.yml", "one")
+                    .add("bin/two.sh", "two".getBytes(StandardCharsets.UTF_8), true)
+                    .delete("config/old.yml")
+                    .message("Sync configuration")
+                    .author("Config Bot", "bot@example.com", Instant.parse("2026-10-19T14:00:00Z"))
+                    .executor(executor)
+                    .commit();
+            assertThat(commit.getSHA1(), equalTo("dddd000000000000000000000000000000000004"));
+            assertThat(commit.getParentSHA1s(), contains("bbbb000000000000000000000000000000000002"));
+        } finally {
+            executor.shutdownNow();
+        }
+        // Blobs are uploaded once, while the tree and commit are created for each head
+        assertThat(mockGitHub.getRequestCount(), equalTo(13));
+    }
+}
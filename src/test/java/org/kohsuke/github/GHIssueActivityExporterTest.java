@@ -0,0 +1,89 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Test for {@link GHIssueActivityExporter}.
+ */
+public class GHIssueActivityExporterTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHIssueActivityExporterTest instance
+     */
+    public GHIssueActivityExporterTest() {
+    }
+
+    /**
+     * Exports comments across pages, resumes from the returned cursors and tags every item with its issue number.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void export() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHIssueActivityExporter exporter = repository.exportIssueActivity();
+
+        List<String> comments = new ArrayList<>();
+        Instant cursor = exporter.exportIssueComments(null,
+                (number, comment) -> comments.add(number + ":" + comment.getBody()));
+        assertThat(comments, contains("1:First", "2:Second", "1:Third"));
+        assertThat(cursor, equalTo(Instant.parse("2026-10-19T13:03:00Z")));
+
+        // The last comment is at the cursor, so it is exported again
+        comments.clear();
+        assertThat(exporter.exportIssueComments(cursor,
+                (number, comment) -> comments.add(number + ":" + comment.getId())), equalTo(cursor));
+        assertThat(comments, contains("1:103"));
+
+        List<String> reviewComments = new ArrayList<>();
+        cursor = exporter.exportReviewComments(null,
+                (number, comment) -> reviewComments.add(number + ":" + comment.getPath()));
+        assertThat(reviewComments, contains("5:README.md"));
+        assertThat(cursor, equalTo(Instant.parse("2026-10-19T13:04:00Z")));
+
+        List<String> events = new ArrayList<>();
+        long newest = exporter.exportEvents(10, (number, event) -> {
+            assertThat(event.getIssue().getRepository(), sameInstance(repository));
+            events.add(number + ":" + event.getEvent());
+        });
+        assertThat(events, contains("2:labeled", "1:closed"));
+        assertThat(newest, equalTo(30L));
+
+        assertThat(mockGitHub.getRequestCount(), equalTo(6));
+    }
+
+    /**
+     * When the sink fails partway, the export stops and reports the cursor of the last comment the sink received.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void exportSinkFailure() throws Exception {
+        GHIssueActivityExporter exporter = gitHub.getRepository("hub4j-test-org/github-api").exportIssueActivity();
+
+        IOException failure = new IOException("disk full");
+        List<String> comments = new ArrayList<>();
+        GHIssueActivityExporter.ExportException e = assertThrows(GHIssueActivityExporter.ExportException.class,
+                () -> exporter.exportIssueComments(null, (number, comment) -> {
+                    if (comment.getBody().equals("Third")) {
+                        throw failure;
+                    }
+                    comments.add(number + ":" + comment.getBody());
+                }));
+        assertThat(e.getCause(), sameInstance(failure));
+        assertThat(comments, contains("1:First", "2:Second"));
+        assertThat(e.getCursor(), equalTo(Instant.parse("2026-10-19T13:02:00Z")));
+
+        assertThat(mockGitHub.getRequestCount(), equalTo(3));
+    }
+}
@@ -0,0 +1,112 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHIssueBulkUpdater}.
+ */
+public class GHIssueBulkUpdaterTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHIssueBulkUpdaterTest instance
+     */
+    public GHIssueBulkUpdaterTest() {
+    }
+
+    /**
+     * Combines the changes to each issue, even when queued through different objects, sends them as label and assignee
+     * additions and removals, skips issues that do not change and reports failures per issue.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void execute() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHIssue first = repository.getIssue(1);
+        GHIssue firstAgain = repository.getIssue(1);
+        GHIssue second = repository.getIssue(2);
+        GHIssue third = repository.getIssue(3);
+
+        List<GHIssueBulkUpdater.Result> results = repository.bulkUpdateIssues()
+                .minInterval(Duration.ZERO)
+                .addLabels(first, "triage")
+                .removeAssignees(firstAgain, firstAgain.getAssignees())
+                .setMilestone(first, null)
+                .removeLabels(second, "triage")
+                .addLabels(third, "question")
+                .execute();
+
+        assertThat(results, hasSize(3));
+        GHIssueBulkUpdater.Result result = results.get(0);
+        assertThat(result.getIssue(), sameInstance(first));
+        assertThat(result.isSuccessful(), is(true));
+        GHIssue updated = result.getUpdatedIssue();
+        assertThat(updated, notNullValue());
+        assertThat(GHLabel.toNames(updated.getLabels()), contains("bug", "triage"));
+        assertThat(updated.getAssignees(), empty());
+        assertThat(updated.getRepository(), sameInstance(repository));
+        assertThat(GHLabel.toNames(result.getLabels()), contains("bug", "triage"));
+
+        result = results.get(1);
+        assertThat(result.getIssue(), sameInstance(second));
+        assertThat(result.isSuccessful(), is(false));
+        assertThat(result.getFailure(), instanceOf(HttpException.class));
+        assertThat(result.getUpdatedIssue(), nullValue());
+        assertThat(result.getLabels(), nullValue());
+
+        // Already has the label, so it is not updated
+        result = results.get(2);
+        assertThat(result.getIssue(), sameInstance(third));
+        assertThat(result.isSuccessful(), is(true));
+        assertThat(result.getUpdatedIssue(), nullValue());
+
+        assertThat(mockGitHub.getRequestCount(), equalTo(8));
+    }
+
+    /**
+     * Reports the labels returned by the label requests, and the issue returned by the milestone update, without
+     * reading the issues again.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void labelsAndMilestone() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHIssue second = repository.getIssue(2);
+        GHIssue third = repository.getIssue(3);
+        GHMilestone milestone = repository.getMilestone(1);
+
+        List<GHIssueBulkUpdater.Result> results = repository.bulkUpdateIssues()
+                .minInterval(Duration.ZERO)
+                .removeLabels(second, "triage")
+                .setMilestone(second, milestone)
+                .addLabels(third, "docs")
+                .execute();
+
+        assertThat(results, hasSize(2));
+        GHIssueBulkUpdater.Result result = results.get(0);
+        assertThat(result.getIssue(), sameInstance(second));
+        assertThat(result.isSuccessful(), is(true));
+        assertThat(GHLabel.toNames(result.getLabels()), contains("bug"));
+        GHIssue updated = result.getUpdatedIssue();
+        assertThat(updated, notNullValue());
+        assertThat(updated.getMilestone().getNumber(), equalTo(1));
+        assertThat(GHLabel.toNames(updated.getLabels()), contains("bug"));
+
+        // Only the labels changed, so the issue is not read again
+        result = results.get(1);
+        assertThat(result.getIssue(), sameInstance(third));
+        assertThat(result.isSuccessful(), is(true));
+        assertThat(GHLabel.toNames(result.getLabels()), contains("question", "docs"));
+        assertThat(result.getUpdatedIssue(), nullValue());
+
+        assertThat(mockGitHub.getRequestCount(), equalTo(7));
+    }
+}
@@ -2,6 +2,8 @@ package org.kohsuke.github;
 
 import org.junit.Test;
 
+import java.time.Instant;
+
 import static org.hamcrest.Matchers.*;
 
 // TODO: Auto-generated Javadoc
@@ -16,6 +18,75 @@ public class GHObjectTest extends org.kohsuke.github.AbstractGitHubWireMockTest
     public GHObjectTest() {
     }
 
+    /**
+     * Objects read in the compact form parse timestamps once, drop the response headers, and serialize as before.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCompactModel() throws Exception {
+        GitHub compact = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                .withCompactModel(true)
+                .build();
+        GHRepository repository = compact.getRepository("hub4j-test-org/github-api");
+
+        assertThat(repository.getCreatedAt(), equalTo(Instant.parse("2019-09-06T23:26:04Z")));
+        assertThat(repository.getUpdatedAt(), equalTo(Instant.parse("2021-04-19T20:09:00Z")));
+        assertThat(repository.getUrl(), sameInstance(repository.getUrl()));
+        assertThat(repository.getUrl().getPath(), equalTo("/repos/hub4j-test-org/github-api"));
+        assertThat(repository.getResponseHeaderFields(), nullValue());
+        assertThat(repository.toString(), containsString("createdAt=<null>"));
+
+        String json = GitHub.getMappingObjectWriter().writeValueAsString(repository);
+        assertThat(json, containsString("\"created_at\":\"2019-09-06T23:26:04Z\""));
+        GHRepository copy = GitHub.getMappingObjectReader().forType(GHRepository.class).readValue(json);
+        assertThat(copy.getUpdatedAt(), equalTo(repository.getUpdatedAt()));
+        assertThat(copy.toString(), containsString("createdAt=2019-09-06T23:26:04Z"));
+    }
+
+    /**
+     * Repeated users, labels and strings share one instance when read in the compact form.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCompactModelDeduplication() throws Exception {
+        String alice = "{\"login\":\"alice\",\"id\":1,\"type\":\"User\"}";
+        String bob = "{\"login\":\"bob\",\"id\":2,\"type\":\"User\"}";
+        String label = "{\"id\":7,\"name\":\"bug\",\"color\":\"d73a4a\"}";
+        String issue = "{\"number\":%d,\"user\":" + alice + ",\"assignees\":[" + alice + "," + bob + "],\"labels\":["
+                + label + "]}";
+        String json = "[" + String.format(issue, 1) + "," + String.format(issue, 2) + "]";
+
+        GitHub compact = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                .withCompactModel(true)
+                .build();
+        GHIssue[] issues = GitHubClient.getMappingObjectReader(compact).forType(GHIssue[].class).readValue(json);
+        GHIssue first = issues[0];
+        GHIssue second = issues[1];
+        assertThat(second.getAssignees().get(0), sameInstance(first.getAssignees().get(0)));
+        assertThat(second.getAssignees().get(1), sameInstance(first.getAssignees().get(1)));
+        assertThat(second.getLabels().iterator().next(), sameInstance(first.getLabels().iterator().next()));
+        assertThat(first.getAssignees().get(1).getType(), sameInstance(first.getAssignees().get(0).getType()));
+
+        // A changed label is not replaced with the one seen before
+        String renamed = json.replace("\"bug\"", "\"defect\"");
+        GHIssue[] later = GitHubClient.getMappingObjectReader(compact).forType(GHIssue[].class).readValue(renamed);
+        assertThat(later[0].getLabels().iterator().next().getName(), equalTo("defect"));
+
+        // A login now belonging to another user is not replaced with the user seen before
+        String moved = json.replace("\"login\":\"alice\",\"id\":1", "\"login\":\"alice\",\"id\":3");
+        later = GitHubClient.getMappingObjectReader(compact).forType(GHIssue[].class).readValue(moved);
+        assertThat(later[0].getAssignees().get(0).getId(), equalTo(3L));
+        assertThat(later[1].getAssignees().get(0), sameInstance(later[0].getAssignees().get(0)));
+
+        // Without the compact form, every object has its own copies
+        issues = GitHubClient.getMappingObjectReader(gitHub).forType(GHIssue[].class).readValue(json);
+        assertThat(issues[1].getAssignees().get(0), not(sameInstance(issues[0].getAssignees().get(0))));
+    }
+
     /**
      * Test to string.
      *
@@ -0,0 +1,52 @@
+package org.kohsuke.github;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHPartitionedSearch}.
+ */
+public class GHPartitionedSearchTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHPartitionedSearchTest instance
+     */
+    public GHPartitionedSearchTest() {
+    }
+
+    /**
+     * Splits a range with more results than GitHub returns, then merges the halves without duplicates.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void listAll() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<GHIssue> issues = gitHub.searchIssues()
+                    .q("repo:hub4j-test-org/github-api")
+                    .partitioned()
+                    .between(Instant.parse("2020-01-01T00:00:00Z"), Instant.parse("2020-01-01T00:00:09.500Z"))
+                    .list(executor);
+
+            assertThat(issues.stream().map(GHIssue::getNumber).collect(Collectors.toList()), contains(1, 2, 3));
+            assertThat(mockGitHub.getRequestCount(), equalTo(5));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> gitHub.searchIssues()
+                        .partitioned()
+                        .between(Instant.parse("2020-01-02T00:00:00Z"), Instant.parse("2020-01-01T00:00:00Z")));
+    }
+}
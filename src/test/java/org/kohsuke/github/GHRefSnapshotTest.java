@@ -0,0 +1,61 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHRefSnapshot}.
+ */
+public class GHRefSnapshotTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHRefSnapshotTest instance
+     */
+    public GHRefSnapshotTest() {
+    }
+
+    /**
+     * Revalidates a snapshot page by page, and lists the refs that changed.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void refresh() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHRefSnapshot snapshot = repository.getRefSnapshot();
+        assertThat(snapshot.getRefs(),
+                contains("refs/heads/feature", "refs/heads/main", "refs/tags/v1.0", "refs/tags/v1.1"));
+        assertThat(snapshot.getSha("refs/heads/main"), equalTo("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb"));
+        assertThat(snapshot.getSha("refs/heads/missing"), nullValue());
+        assertThat(mockGitHub.getRequestCount(), equalTo(3));
+
+        // Both pages are not modified
+        assertThat(snapshot.refresh(), sameInstance(snapshot));
+        assertThat(mockGitHub.getRequestCount(), equalTo(5));
+
+        // The second page has changed
+        GHRefSnapshot refreshed = snapshot.refresh();
+        assertThat(mockGitHub.getRequestCount(), equalTo(7));
+        assertThat(refreshed.size(), equalTo(4));
+        assertThat(refreshed.getSha("refs/tags/v2.0"), equalTo("ffffffffffffffffffffffffffffffffffffffff"));
+
+        List<GHRefSnapshot.RefChange> changes = refreshed.diff(snapshot);
+        assertThat(changes, hasSize(3));
+        assertThat(changes.get(0).getType(), equalTo(GHRefSnapshot.RefChange.Type.UPDATED));
+        assertThat(changes.get(0).getRef(), equalTo("refs/tags/v1.0"));
+        assertThat(changes.get(0).getPreviousSha(), equalTo("cccccccccccccccccccccccccccccccccccccccc"));
+        assertThat(changes.get(0).getSha(), equalTo("eeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeee"));
+        assertThat(changes.get(1).getType(), equalTo(GHRefSnapshot.RefChange.Type.DELETED));
+        assertThat(changes.get(1).getRef(), equalTo("refs/tags/v1.1"));
+        assertThat(changes.get(1).getSha(), nullValue());
+        assertThat(changes.get(2).getType(), equalTo(GHRefSnapshot.RefChange.Type.CREATED));
+        assertThat(changes.get(2).getRef(), equalTo("refs/tags/v2.0"));
+        assertThat(changes.get(2).getPreviousSha(), nullValue());
+
+        assertThat(snapshot.diff(snapshot), empty());
+    }
+}
@@ -1931,6 +1931,33 @@ public class GHRepositoryTest extends AbstractGitHubWireMockTest {
         assertThat(repo.isCollaborator(collaborator), is(true));
     }
 
+    /**
+     * Walk history and resolve parents from the walked commits.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void walkHistory() throws Exception {
+        GHRepository repository = getRepository();
+        int startingCount = mockGitHub.getRequestCount();
+        List<GHCommit> history = repository.walkHistory("baf94e56c88b1b6cb1d8425a29f6cf9925fb4336", 3);
+        assertThat(history.size(), equalTo(3));
+        assertThat(history.get(0).getSHA1(), equalTo("baf94e56c88b1b6cb1d8425a29f6cf9925fb4336"));
+        assertThat(history.get(2).getSHA1(), equalTo("b82ea8eaa8e90f8d4074354721a3ea12d3af8930"));
+        assertThat(mockGitHub.getRequestCount(), equalTo(startingCount + 1));
+
+        // Parents that were already walked are resolved without more requests
+        List<GHCommit> parents = history.get(0).getParents();
+        assertThat(parents.size(), equalTo(1));
+        assertThat(parents.get(0), sameInstance(history.get(1)));
+        assertThat(history.get(1).getParents().get(0), sameInstance(history.get(2)));
+        assertThat(repository.getCommit("dfe47235cfdcaa12292dab3b1a84ca53a1ceadaf"), sameInstance(history.get(1)));
+        assertThat(mockGitHub.getRequestCount(), equalTo(startingCount + 1));
+
+        assertThat(repository.walkHistory("baf94e56c88b1b6cb1d8425a29f6cf9925fb4336", 0), empty());
+    }
+
     private GHRepository getRepository(GitHub gitHub) throws IOException {
         return gitHub.getOrganization("hub4j-test-org").getRepository("github-api");
     }
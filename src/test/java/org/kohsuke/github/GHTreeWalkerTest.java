@@ -0,0 +1,66 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHTreeWalker}.
+ */
+public class GHTreeWalkerTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHTreeWalkerTest instance
+     */
+    public GHTreeWalkerTest() {
+    }
+
+    /**
+     * Walks a tree whose recursive listing is truncated, listing its subtrees instead, with and without a path prefix.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void walk() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            GHTreeWalker walker = new GHTreeWalker(executor).maxConcurrency(2);
+            List<String> paths = new ArrayList<>();
+            List<GHTreeWalker.Entry> entries = new ArrayList<>();
+            walker.walk(repository, "main", entry -> {
+                paths.add(entry.getPath());
+                entries.add(entry);
+            });
+            assertThat(paths,
+                    containsInAnyOrder("README.md",
+                            "docs",
+                            "docs/index.md",
+                            "src",
+                            "src/main",
+                            "src/main/App.java"));
+            GHTreeWalker.Entry app = entries.get(paths.indexOf("src/main/App.java"));
+            assertThat(app.getMode(), equalTo("100644"));
+            assertThat(app.getSha(), equalTo("2222222222222222222222222222222222222222"));
+            assertThat(app.getSize(), equalTo(345L));
+            assertThat(app.isTree(), is(false));
+            assertThat(entries.get(paths.indexOf("src/main")).isTree(), is(true));
+            // The root and docs are listed again without recursion, src is listed recursively
+            assertThat(mockGitHub.getRequestCount(), equalTo(6));
+
+            List<String> prefixed = new ArrayList<>();
+            walker.pathPrefix("src/").walk(repository, "main", entry -> prefixed.add(entry.getPath()));
+            assertThat(prefixed, containsInAnyOrder("src", "src/main", "src/main/App.java"));
+            // docs is not fetched at all
+            assertThat(mockGitHub.getRequestCount(), equalTo(8));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHWorkflowLogReader}.
+ */
+public class GHWorkflowLogReaderTest extends AbstractGitHubWireMockTest {
+
+    private static List<String> describe(List<GHWorkflowLogReader.Line> lines) {
+        return lines.stream()
+                .map(line -> line.getJob() + "/" + line.getStep() + ":" + line.getNumber() + " " + line.getText())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create default GHWorkflowLogReaderTest instance
+     */
+    public GHWorkflowLogReaderTest() {
+    }
+
+    /**
+     * Reads the lines of the log archive of a run and of the log of a job, filtering steps and lines.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void readLogs() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/GHWorkflowRunTest");
+        GHWorkflowRun run = repository.getWorkflowRun(686036126);
+
+        List<GHWorkflowLogReader.Line> steps = run.readLogs(reader -> {
+            List<GHWorkflowLogReader.Line> lines = new ArrayList<>();
+            reader.steps((job, step) -> "Set up job".equals(step)).forEachRemaining(lines::add);
+            return lines;
+        });
+        // The byte order mark and carriage returns are removed
+        assertThat(describe(steps),
+                contains("build/Set up job:1 2026-10-19T13:00:01.0000000Z Current runner version: '2.320.0'",
+                        "build/Set up job:2 2026-10-19T13:00:02.0000000Z Preparing workflow directory"));
+
+        List<GHWorkflowLogReader.Line> failures = run
+                .readLogs(reader -> reader.steps((job, step) -> step != null).containing(" FAIL ").tail(10));
+        assertThat(describe(failures),
+                contains("build/Run tests:3 2026-10-19T13:00:12.0000000Z FAIL GHRepositoryTest: expected 2 but was 3",
+                        "build/Run tests:4 2026-10-19T13:00:13.0000000Z FAIL GHUserTest: timed out"));
+
+        List<GHWorkflowLogReader.Line> last = run.readLogs(reader -> reader.tail(1));
+        assertThat(describe(last),
+                contains("build/Run tests:5 2026-10-19T13:00:14.0000000Z ##[error]Process completed with exit code 1."));
+
+        GHWorkflowJob job = repository.getWorkflowJob(1874526348);
+        List<GHWorkflowLogReader.Line> errors = job
+                .readLogs(reader -> reader.matching(Pattern.compile("##\\[error]|FAIL GHUser")).tail(10));
+        assertThat(describe(errors),
+                contains("build/null:6 2026-10-19T13:00:13.0000000Z FAIL GHUserTest: timed out",
+                        "build/null:7 2026-10-19T13:00:14.0000000Z ##[error]Process completed with exit code 1."));
+
+        assertThat(mockGitHub.getRequestCount(), equalTo(7));
+    }
+}
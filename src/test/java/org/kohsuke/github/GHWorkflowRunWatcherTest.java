@@ -0,0 +1,85 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GHWorkflowRunWatcher}.
+ */
+public class GHWorkflowRunWatcherTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GHWorkflowRunWatcherTest instance
+     */
+    public GHWorkflowRunWatcherTest() {
+    }
+
+    /**
+     * Polls a run with conditional requests until it completes, and fails the future of a run that does not exist, of a
+     * run that keeps failing with server errors and of a run watched after the executor was shut down.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void watch() throws Exception {
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/GHWorkflowRunTest");
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+        try {
+            GHWorkflowRunWatcher watcher = new GHWorkflowRunWatcher(executor).minInterval(Duration.ofMillis(10))
+                    .maxInterval(Duration.ofMillis(40));
+
+            GHWorkflowRun run = watcher.watch(repository, 686036126).get(10, TimeUnit.SECONDS);
+            assertThat(run.getId(), equalTo(686036126L));
+            assertThat(run.getStatus(), equalTo(GHWorkflowRun.Status.COMPLETED));
+            assertThat(run.getConclusion(), equalTo(GHWorkflowRun.Conclusion.SUCCESS));
+            assertThat(run.getRepository(), sameInstance(repository));
+            // The second poll found the run unchanged
+            assertThat(mockGitHub.getRequestCount(), equalTo(4));
+
+            // Already completed, so not polled at all
+            assertThat(watcher.watch(run).getNow(null), sameInstance(run));
+            assertThat(mockGitHub.getRequestCount(), equalTo(4));
+
+            CompletableFuture<GHWorkflowRun> missing = watcher.watch(repository, 1);
+            try {
+                missing.get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(GHFileNotFoundException.class));
+            }
+            assertThat(mockGitHub.getRequestCount(), equalTo(5));
+
+            // One server error is retried, the second fails the watch
+            CompletableFuture<GHWorkflowRun> failing = watcher.watch(repository, 2);
+            try {
+                failing.get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(HttpException.class));
+                assertThat(((HttpException) e.getCause()).getResponseCode(), equalTo(502));
+            }
+            assertThat(mockGitHub.getRequestCount(), equalTo(7));
+
+            executor.shutdown();
+            CompletableFuture<GHWorkflowRun> rejected = watcher.watch(repository, 686036126);
+            try {
+                rejected.get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
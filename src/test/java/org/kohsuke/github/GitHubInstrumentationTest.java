@@ -0,0 +1,114 @@
+package org.kohsuke.github;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.kohsuke.github.extras.jmx.EndpointLatency;
+import org.kohsuke.github.extras.jmx.JmxGitHubInstrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link GitHubInstrumentation} and {@link JmxGitHubInstrumentation}.
+ */
+public class GitHubInstrumentationTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GitHubInstrumentationTest instance
+     */
+    public GitHubInstrumentationTest() {
+    }
+
+    /**
+     * Requests report their metrics to the instrumentation, which the JMX adapter aggregates.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testInstrumentation() throws Exception {
+        List<String> started = new CopyOnWriteArrayList<>();
+        List<GitHubRequestMetrics> completed = new CopyOnWriteArrayList<>();
+        try (JmxGitHubInstrumentation jmx = JmxGitHubInstrumentation.register("GitHubInstrumentationTest")) {
+            GitHubInstrumentation instrumentation = new GitHubInstrumentation() {
+                @Override
+                public void requestCompleted(GitHubRequestMetrics metrics) {
+                    completed.add(metrics);
+                    jmx.requestCompleted(metrics);
+                }
+
+                @Override
+                public void requestStarted(GitHubRequest request, String traceId) {
+                    started.add(traceId);
+                }
+            };
+            GitHub instrumented = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                    .withInstrumentation(instrumentation)
+                    .build();
+
+            assertThat(instrumented.getRepository("hub4j-test-org/github-api").getName(), equalTo("github-api"));
+            assertThat(completed, hasSize(1));
+            GitHubRequestMetrics metrics = completed.get(0);
+            assertThat(metrics.getTraceId(), equalTo(started.get(0)));
+            assertThat(metrics.getRequest().urlPath(), equalTo("/repos/hub4j-test-org/github-api"));
+            assertThat(metrics.getStatusCode(), equalTo(200));
+            assertThat(metrics.getAttempts(), equalTo(1));
+            assertThat(metrics.isNotModified(), is(false));
+            assertThat(metrics.getFailure(), nullValue());
+            assertThat(metrics.getBytesReceived(), greaterThan(0L));
+            assertThat(metrics.getRateLimit().getRemaining(), equalTo(4999));
+            assertThat(metrics.getRateLimitTarget(), equalTo(RateLimitTarget.CORE));
+            assertThat(metrics.getTotal(), greaterThanOrEqualTo(metrics.getTimeToFirstByte()));
+
+            instrumented.createRequest()
+                    .withUrlPath("/repos/hub4j-test-org/github-api")
+                    .setHeader("If-None-Match", "\"r1\"")
+                    .send();
+            assertThat(completed.get(1).getStatusCode(), equalTo(304));
+            assertThat(completed.get(1).isNotModified(), is(true));
+
+            Assert.assertThrows(GHFileNotFoundException.class,
+                    () -> instrumented.getRepository("hub4j-test-org/missing"));
+            assertThat(completed, hasSize(3));
+            assertThat(completed.get(2).getStatusCode(), equalTo(404));
+            assertThat(completed.get(2).getFailure(), instanceOf(GHFileNotFoundException.class));
+            assertThat(started, hasSize(3));
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = jmx.getObjectName();
+            assertThat(name.toString(),
+                    equalTo("org.kohsuke.github:type=GitHubRequests,name=\"GitHubInstrumentationTest\""));
+            assertThat(server.getAttribute(name, "RequestCount"), equalTo(3L));
+            assertThat(server.getAttribute(name, "FailureCount"), equalTo(1L));
+            assertThat(server.getAttribute(name, "NotModifiedCount"), equalTo(1L));
+            assertThat((Double) server.getAttribute(name, "NotModifiedRatio"), closeTo(1 / 3d, 0.001));
+            assertThat(jmx.getStatusCodeCounts(), hasEntry("304", 1L));
+            assertThat(jmx.getRemainingRateLimit(), hasEntry("CORE", 4997));
+
+            Map<String, EndpointLatency> latencies = jmx.getEndpointLatencies();
+            assertThat(latencies.keySet(), contains("GET /repos/{owner}/{repo}"));
+            assertThat(latencies.get("GET /repos/{owner}/{repo}").getCount(), equalTo(3L));
+            TabularData endpoints = (TabularData) server.getAttribute(name, "EndpointLatencies");
+            CompositeData endpoint = (CompositeData) endpoints.get(new Object[]{ "GET /repos/{owner}/{repo}" })
+                    .get("value");
+            assertThat(endpoint.get("count"), equalTo(3L));
+            assertThat((Double) endpoint.get("p99Millis"), greaterThan(0d));
+
+            server.invoke(name, "reset", null, null);
+            assertThat(jmx.getRequestCount(), equalTo(0L));
+            assertThat(jmx.getStatusCodeCounts().isEmpty(), is(true));
+
+            jmx.close();
+            assertThat(server.isRegistered(name), is(false));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.kohsuke.github;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.kohsuke.github.authorization.ImmutableAuthorizationProvider;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.*;
+
+/**
+ * Unit test for {@link GitHubRequest}.
+ */
+public class GitHubRequestTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Create default GitHubRequestTest instance
+     */
+    public GitHubRequestTest() {
+    }
+
+    /**
+     * Test file body.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFileBody() throws Exception {
+        File file = File.createTempFile("github-api-body", ".txt");
+        try {
+            Files.write(file.toPath(), "file body".getBytes(StandardCharsets.UTF_8));
+            GitHubRequest request = GitHubRequest.newBuilder().method("POST").with(file).build();
+
+            assertThat(request.bodyFile(), equalTo(file));
+            assertThat(request.bodyLength(), equalTo(9L));
+            // The file is opened again each time, so the body can be sent more than once
+            for (int i = 0; i < 2; i++) {
+                try (InputStream body = request.body()) {
+                    assertThat(IOUtils.toString(body, StandardCharsets.UTF_8), equalTo("file body"));
+                }
+            }
+
+            // Setting a stream body replaces the file
+            GitHubRequest streamRequest = request.toBuilder()
+                    .with(new ByteArrayInputStream("bytes".getBytes(StandardCharsets.UTF_8)))
+                    .build();
+            assertThat(streamRequest.bodyFile(), nullValue());
+            assertThat(streamRequest.bodyLength(), equalTo(5L));
+        } finally {
+            file.delete();
+        }
+
+        Assert.assertThrows(FileNotFoundException.class, () -> GitHubRequest.newBuilder().with(file));
+        assertThat(GitHubRequest.newBuilder().build().bodyLength(), equalTo(-1L));
+    }
+
+    /**
+     * Test that built requests share the values of their builder, but do not see later changes to it.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testSharedValues() throws Exception {
+        GitHubRequest.Builder<?> builder = GitHubRequest.newBuilder()
+                .withUrlPath("/repos/hub4j/github-api/issues")
+                .with("state", "open")
+                .with("labels", "needs review")
+                .setHeader("Accept", "application/json")
+                .injectMappingValue("name", "value");
+        GitHubRequest request = builder.build();
+        assertThat(request.url().toString(),
+                equalTo("https://api.github.com/repos/hub4j/github-api/issues?state=open&labels=needs+review"));
+
+        builder.with("page", 2)
+                .withHeader("Accept", "text/plain")
+                .setHeader("If-None-Match", "\"etag\"")
+                .injectMappingValue("other", "value");
+        GitHubRequest next = builder.build();
+
+        assertThat(request.args().size(), equalTo(2));
+        assertThat(request.allHeaders().keySet(), equalTo(Collections.singleton("Accept")));
+        assertThat(request.header("accept"), equalTo("application/json"));
+        assertThat(request.injectedMappingValues().size(), equalTo(1));
+        assertThat(request.url().toString(), not(containsString("page")));
+
+        assertThat(next.args().size(), equalTo(3));
+        assertThat(next.allHeaders().get("accept"), equalTo(Arrays.asList("application/json", "text/plain")));
+        assertThat(next.header("if-none-match"), equalTo("\"etag\""));
+        assertThat(next.injectedMappingValues().size(), equalTo(2));
+        assertThat(next.url().toString(), endsWith("&page=2"));
+
+        // A copy keeps the values and the URL until they are changed
+        GitHubRequest copy = next.toBuilder().removeHeader("If-None-Match").build();
+        assertThat(copy.url(), sameInstance(next.url()));
+        assertThat(copy.args(), equalTo(next.args()));
+        assertThat(next.header("If-None-Match"), equalTo("\"etag\""));
+        assertThat(copy.header("If-None-Match"), nullValue());
+
+        GitHubRequest moved = next.toBuilder().remove("page").method("POST").inBody().build();
+        assertThat(moved.url().toString(), equalTo("https://api.github.com/repos/hub4j/github-api/issues"));
+        assertThat(next.args().size(), equalTo(3));
+        assertThat(moved.args().size(), equalTo(2));
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> next.args().clear());
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> next.allHeaders().get("Accept").add("text/html"));
+    }
+
+    /**
+     * Test that a JSON body is written straight to the connector's stream, the same as it is read from the body.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testWriteBody() throws Exception {
+        byte[] content = "content to encode".getBytes(StandardCharsets.UTF_8);
+        GitHubRequest request = GitHubRequest.newBuilder()
+                .method("PUT")
+                .withUrlPath("/repos/hub4j/github-api/contents/README.md")
+                .with("message", "Update")
+                .with("content", content)
+                .build();
+        assertThat(request.body(), nullValue());
+
+        GitHubConnectorRequest prepared = GitHubClient.prepareConnectorRequest(request,
+                ImmutableAuthorizationProvider.fromOauthToken("token"));
+        assertThat(prepared.contentType(), equalTo("application/json"));
+        assertThat(prepared.bodyLength(), equalTo(-1L));
+
+        // Written twice, as when a request is retried
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            prepared.writeBody(output);
+            String json = output.toString(StandardCharsets.UTF_8);
+            assertThat(json, containsString("\"message\":\"Update\""));
+            assertThat(json, containsString("\"content\":\"" + Base64.getEncoder().encodeToString(content) + "\""));
+            try (InputStream body = prepared.body()) {
+                assertThat(IOUtils.toString(body, StandardCharsets.UTF_8), equalTo(json));
+            }
+        }
+
+        // Preparing a prepared request keeps its body
+        GitHubConnectorRequest again = GitHubClient.prepareConnectorRequest((GitHubRequest) prepared,
+                ImmutableAuthorizationProvider.fromOauthToken("token"));
+        assertThat(again.contentType(), equalTo("application/json"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        again.writeBody(output);
+        try (InputStream body = again.body()) {
+            assertThat(IOUtils.toString(body, StandardCharsets.UTF_8),
+                    equalTo(output.toString(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link SearchRequestScheduler}.
+ */
+public class SearchRequestSchedulerTest {
+
+    private static final long RESET_SECONDS = 1_800_000_060L;
+
+    /** A minute before the end of the window, which lasts one second past {@link #RESET_SECONDS}. */
+    private static final long NOW = RESET_SECONDS * 1000 - 59_000;
+
+    /**
+     * Create default SearchRequestSchedulerTest instance
+     */
+    public SearchRequestSchedulerTest() {
+    }
+
+    /**
+     * Slots are spread evenly over the rest of the window and run out when the limit does.
+     */
+    @Test
+    public void testReserveSpreadsSlotsAcrossWindow() {
+        SearchRequestScheduler scheduler = new SearchRequestScheduler();
+        GHRateLimit.Record record = new GHRateLimit.Record(30, 30, RESET_SECONDS);
+
+        // 30 slots across the 60 seconds until the reset, plus its one second margin
+        assertThat(scheduler.reserve(record, NOW), equalTo(0L));
+        assertThat(scheduler.reserve(record, NOW), equalTo(2000L));
+        assertThat(scheduler.reserve(record, NOW), equalTo(4000L));
+        assertThat(scheduler.reserve(record, NOW + 5000), equalTo(1000L));
+
+        // Requests made elsewhere with the same credentials leave fewer slots
+        GHRateLimit.Record shared = new GHRateLimit.Record(30, 2, RESET_SECONDS);
+        assertThat(scheduler.reserve(shared, NOW + 6000), equalTo(2000L));
+        assertThat(scheduler.reserve(shared, NOW + 6000), equalTo(28000L));
+        assertThat(scheduler.reserve(shared, NOW + 6000), equalTo(SearchRequestScheduler.NO_SLOT));
+
+        // A new window starts over
+        GHRateLimit.Record next = new GHRateLimit.Record(30, 30, RESET_SECONDS + 60);
+        assertThat(scheduler.reserve(next, NOW + 60_000), equalTo(0L));
+    }
+
+    /**
+     * Before any response has reported the limit, the default search limit is assumed.
+     */
+    @Test
+    public void testReserveWithUnknownLimit() {
+        SearchRequestScheduler scheduler = new SearchRequestScheduler();
+        GHRateLimit.Record record = GHRateLimit.UnknownLimitRecord.current();
+
+        assertThat(scheduler.reserve(record, NOW), equalTo(0L));
+        assertThat(scheduler.reserve(record, NOW), equalTo(2000L));
+        for (int i = 2; i < 30; i++) {
+            assertThat(scheduler.reserve(record, NOW), not(equalTo(SearchRequestScheduler.NO_SLOT)));
+        }
+        assertThat(scheduler.reserve(record, NOW), equalTo(SearchRequestScheduler.NO_SLOT));
+    }
+}
@@ -10,17 +10,24 @@ import org.kohsuke.github.AbstractGitHubWireMockTest;
 import org.kohsuke.github.connector.GitHubConnectorResponse.ByteArrayResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.lessThan;
 
 /**
  * Test GitHubConnectorResponse
@@ -32,7 +39,11 @@ public class GitHubConnectorResponseTest extends AbstractGitHubWireMockTest {
         private final InputStream stream;
 
         CustomBodyGitHubConnectorResponse(int statusCode, InputStream stream) {
-            super(EMPTY_REQUEST, statusCode, new HashMap<>());
+            this(statusCode, stream, new HashMap<>());
+        }
+
+        CustomBodyGitHubConnectorResponse(int statusCode, InputStream stream, Map<String, List<String>> headers) {
+            super(EMPTY_REQUEST, statusCode, headers);
             this.stream = stream;
         }
 
@@ -82,6 +93,20 @@ public class GitHubConnectorResponseTest extends AbstractGitHubWireMockTest {
         }
     };
 
+    private static byte[] compress(byte[] value, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static GitHubConnectorResponse encodedResponse(byte[] body, String contentEncoding) {
+        return new CustomBodyGitHubConnectorResponse(200,
+                new ByteArrayInputStream(body),
+                Collections.singletonMap("Content-Encoding", Collections.singletonList(contentEncoding)));
+    }
+
     /**
      * Instantiates a new GitHubConnectorResponseTest.
      */
@@ -220,4 +245,60 @@ public class GitHubConnectorResponseTest extends AbstractGitHubWireMockTest {
         assertThat(e.getMessage(), equalTo("Response is closed"));
     }
 
+    /**
+     * Test compressed body streams.
+     *
+     * @throws Exception
+     *             for failures
+     */
+    @Test
+    public void testBodyStream_encoded() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("{\"id\":").append(i).append(",\"name\":\"hub4j\"},");
+        }
+        String body = builder.toString();
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        byte[] gzipped = compress(bodyBytes, true);
+
+        for (int i = 0; i < 3; i++) {
+            // Repeated responses reuse pooled inflaters, which must be reset between uses
+            try (GitHubConnectorResponse response = encodedResponse(gzipped, "gzip")) {
+                assertThat(response.bodyBytesRead(), equalTo(-1L));
+                assertThat(IOUtils.toString(response.bodyStream(), StandardCharsets.UTF_8), equalTo(body));
+                assertThat(response.bodyBytesRead(), equalTo((long) body.length()));
+                assertThat(response.rawBodyBytesRead(), equalTo((long) gzipped.length));
+                assertThat(response.rawBodyBytesRead(), lessThan(response.bodyBytesRead()));
+            }
+        }
+
+        try (GitHubConnectorResponse response = encodedResponse(compress(bodyBytes, false), "deflate")) {
+            assertThat(IOUtils.toString(response.bodyStream(), StandardCharsets.UTF_8), equalTo(body));
+        }
+
+        // Encodings are listed in the order they were applied
+        byte[] twice = compress(compress(bodyBytes, false), true);
+        try (GitHubConnectorResponse response = encodedResponse(twice, "deflate, gzip")) {
+            assertThat(IOUtils.toString(response.bodyStream(), StandardCharsets.UTF_8), equalTo(body));
+        }
+
+        try (GitHubConnectorResponse response = new CustomBodyGitHubConnectorResponse(200,
+                new ByteArrayInputStream(bodyBytes))) {
+            assertThat(IOUtils.toString(response.bodyStream(), StandardCharsets.UTF_8), equalTo(body));
+            assertThat(response.bodyBytesRead(), equalTo(-1L));
+            assertThat(response.rawBodyBytesRead(), equalTo(-1L));
+        }
+
+        byte[] corrupt = gzipped.clone();
+        corrupt[corrupt.length - 8] ^= 1;
+        try (GitHubConnectorResponse response = encodedResponse(corrupt, "gzip")) {
+            Assert.assertThrows(ZipException.class,
+                    () -> IOUtils.toString(response.bodyStream(), StandardCharsets.UTF_8));
+        }
+
+        try (GitHubConnectorResponse response = encodedResponse(gzipped, "compress")) {
+            Exception e = Assert.assertThrows(UnsupportedOperationException.class, () -> response.bodyStream());
+            assertThat(e.getMessage(), equalTo("Unexpected Content-Encoding: compress"));
+        }
+    }
 }
@@ -8,6 +8,10 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.Matchers.*;
 
@@ -122,4 +126,44 @@ public class JWTTokenProviderTest extends AbstractGHAppInstallationTest {
         }
     }
 
+    /**
+     * Test that the next token is signed in the background before the current one needs replacing.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testPresigning() throws IOException {
+        AtomicInteger signed = new AtomicInteger();
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+        List<Runnable> tasks = new ArrayList<>();
+        JWTTokenProvider provider = new JWTTokenProvider(TEST_APP_ID_2,
+                (issuedAt, expiration, issuer) -> issuer + "-" + signed.incrementAndGet()) {
+
+            @Override
+            Instant now() {
+                return now.get();
+            }
+        }.withExecutor(tasks::add);
+
+        assertThat(provider.getEncodedAuthorization(), equalTo("Bearer 83009-1"));
+        assertThat(tasks, empty());
+
+        // In the last minute before the token needs replacing, one replacement is queued and the token is still used
+        now.set(now.get().plus(Duration.ofMinutes(5).plusSeconds(1)));
+        assertThat(provider.getEncodedAuthorization(), equalTo("Bearer 83009-1"));
+        assertThat(provider.getEncodedAuthorization(), equalTo("Bearer 83009-1"));
+        assertThat(tasks, hasSize(1));
+        assertThat(signed.get(), equalTo(1));
+
+        tasks.get(0).run();
+        assertThat(provider.getEncodedAuthorization(), equalTo("Bearer 83009-2"));
+
+        // A token that is no longer valid is replaced on the calling thread
+        now.set(now.get().plus(Duration.ofMinutes(7)));
+        assertThat(provider.isNotValid(), is(true));
+        assertThat(provider.getEncodedAuthorization(), equalTo("Bearer 83009-3"));
+        assertThat(tasks, hasSize(1));
+    }
+
 }
@@ -0,0 +1,83 @@
+package org.kohsuke.github.extras.jmx;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link LatencyHistogram} and {@link EndpointTemplates}.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Create default LatencyHistogramTest instance
+     */
+    public LatencyHistogramTest() {
+    }
+
+    /**
+     * Every value falls in a bucket whose upper bound is at most 12.5% above it.
+     */
+    @Test
+    public void testBuckets() {
+        int previous = -1;
+        for (long micros = 0; micros < (1L << 31); micros = micros * 9 / 8 + 1) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertThat(index, greaterThanOrEqualTo(previous));
+            assertThat(LatencyHistogram.bucketUpperBound(index), greaterThanOrEqualTo(micros));
+            assertThat((double) LatencyHistogram.bucketUpperBound(index), lessThanOrEqualTo(micros * 1.125 + 1));
+            previous = index;
+        }
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE), equalTo(LatencyHistogram.bucketIndex(1L << 40)));
+        assertThat(LatencyHistogram.bucketIndex(-1), equalTo(0));
+    }
+
+    /**
+     * Request paths are normalized to the endpoint templates of the API documentation.
+     */
+    @Test
+    public void testEndpointTemplates() {
+        assertThat(EndpointTemplates.template("/repos/hub4j/github-api/pulls"),
+                equalTo("/repos/{owner}/{repo}/pulls"));
+        assertThat(EndpointTemplates.template("/repos/hub4j/github-api/pulls/1234/reviews"),
+                equalTo("/repos/{owner}/{repo}/pulls/{id}/reviews"));
+        assertThat(EndpointTemplates.template("/repos/hub4j/github-api/git/refs/heads/feature/x"),
+                equalTo("/repos/{owner}/{repo}/git/refs/{ref}"));
+        assertThat(EndpointTemplates.template("/repos/hub4j/github-api/contents/src/main/App.java"),
+                equalTo("/repos/{owner}/{repo}/contents/{path}"));
+        assertThat(EndpointTemplates.template("/repos/hub4j/github-api/commits/main/check-runs"),
+                equalTo("/repos/{owner}/{repo}/commits/{ref}/check-runs"));
+        assertThat(
+                EndpointTemplates
+                        .template("/repos/hub4j/github-api/git/trees/0123456789abcdef0123456789abcdef01234567"),
+                equalTo("/repos/{owner}/{repo}/git/trees/{sha}"));
+        assertThat(EndpointTemplates.template("/orgs/hub4j/teams/core/repos/hub4j/github-api"),
+                equalTo("/orgs/{org}/teams/{team_slug}/repos/{owner}/{repo}"));
+        assertThat(EndpointTemplates.template("/users/octocat/repos"), equalTo("/users/{username}/repos"));
+        assertThat(EndpointTemplates.template("/user/repos"), equalTo("/user/repos"));
+        assertThat(EndpointTemplates.template("/app/installations/42/access_tokens"),
+                equalTo("/app/installations/{id}/access_tokens"));
+        assertThat(EndpointTemplates.template(""), equalTo("/"));
+    }
+
+    /**
+     * Percentiles are reported as the upper bound of their bucket, capped by the highest value.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.percentileMillis(50), equalTo(0d));
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertThat(histogram.count(), equalTo(100L));
+        assertThat(histogram.meanMillis(), closeTo(50.5, 0.001));
+        assertThat(histogram.maxMillis(), equalTo(100d));
+        assertThat(histogram.percentileMillis(50), allOf(greaterThanOrEqualTo(50d), lessThanOrEqualTo(50 * 1.125)));
+        assertThat(histogram.percentileMillis(90), allOf(greaterThanOrEqualTo(90d), lessThanOrEqualTo(90 * 1.125)));
+        assertThat(histogram.percentileMillis(100), equalTo(100d));
+    }
+}
@@ -5,11 +5,14 @@ import org.junit.Test;
 import org.kohsuke.github.AbstractGitHubWireMockTest;
 import org.kohsuke.github.GitHubBuilder;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorOptions;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 import org.kohsuke.github.extras.HttpClientGitHubConnector;
+import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import static org.hamcrest.CoreMatchers.*;
 
@@ -54,4 +57,51 @@ public class DefaultGitHubConnectorTest extends AbstractGitHubWireMockTest {
             }
         }).build();
     }
+
+    /**
+     * Test create with options.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCreateWithOptions() throws Exception {
+        assertThat(GitHubConnectorOptions.DEFAULT.getHttpVersion(), nullValue());
+        assertThat(GitHubConnectorOptions.DEFAULT.getMaxConcurrentRequests(), equalTo(0));
+
+        GitHubConnectorOptions options = GitHubConnectorOptions.DEFAULT
+                .withHttpVersion(GitHubConnectorOptions.HttpVersion.HTTP_1_1)
+                .withConnectTimeout(Duration.ofSeconds(5))
+                .withRequestTimeout(Duration.ofSeconds(30))
+                .withConnectionPool(2, Duration.ofMinutes(1))
+                .withMaxConcurrentRequests(1);
+        assertThat(options.getHttpVersion(), equalTo(GitHubConnectorOptions.HttpVersion.HTTP_1_1));
+        assertThat(options.getConnectTimeout(), equalTo(Duration.ofSeconds(5)));
+        assertThat(options.getRequestTimeout(), equalTo(Duration.ofSeconds(30)));
+        assertThat(options.getMaxIdleConnections(), equalTo(2));
+        assertThat(options.getKeepAlive(), equalTo(Duration.ofMinutes(1)));
+        assertThat(options.getMaxConcurrentRequests(), equalTo(1));
+        assertThat(options.getExecutor(), nullValue());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> options.withMaxConcurrentRequests(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> options.withRequestTimeout(Duration.ZERO));
+
+        assertThat(DefaultGitHubConnector.create("httpclient", options), instanceOf(HttpClientGitHubConnector.class));
+        assertThat(DefaultGitHubConnector.create("okhttp", options), instanceOf(OkHttpGitHubConnector.class));
+
+        // With a single permit, each request must release it when its response is closed
+        for (String connectorName : new String[]{ "httpclient", "okhttp" }) {
+            gitHub = new GitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                    .withConnector(DefaultGitHubConnector.create(connectorName, options))
+                    .build();
+            for (int i = 0; i < 3; i++) {
+                gitHub.checkApiUrlValidity();
+            }
+        }
+
+        gitHub = new GitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl())
+                .withConnectorOptions(options)
+                .build();
+        gitHub.checkApiUrlValidity();
+    }
 }